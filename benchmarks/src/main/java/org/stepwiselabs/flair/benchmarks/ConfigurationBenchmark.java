@@ -0,0 +1,70 @@
+package org.stepwiselabs.flair.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.stepwiselabs.flair.Configuration;
+import org.stepwiselabs.flair.ResourceUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typed lookup throughput of the properties backed {@link Configuration} and of the compiled snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+    static final String CONFIGURATION_RESOURCE = "classpath:benchmark.properties";
+
+    @Param({"properties", "snapshot"})
+    private String implementation;
+
+    private Configuration config;
+
+    @Setup
+    public void setup() {
+        config = "snapshot".equals(implementation) ?
+                ResourceUtils.loadConfigurationSnapshot(CONFIGURATION_RESOURCE) :
+                ResourceUtils.loadConfiguration(CONFIGURATION_RESOURCE);
+    }
+
+    @Benchmark
+    public Optional<String> getString() {
+        return config.getString("param.stringValue");
+    }
+
+    @Benchmark
+    public Integer getRequiredInteger() {
+        return config.getRequiredInteger("param.intValue");
+    }
+
+    @Benchmark
+    public Integer getIntegerWithDefault() {
+        return config.getInteger("param.notFound", 13);
+    }
+
+    @Benchmark
+    public Float getRequiredFloat() {
+        return config.getRequiredFloat("param.floatValue");
+    }
+
+    @Benchmark
+    public List<String> getStringList() {
+        return config.getStringList("param.stringList");
+    }
+
+    @Benchmark
+    public List<Integer> getIntegerList() {
+        return config.getIntegerList("param.intList");
+    }
+
+    @Benchmark
+    public Integer getSubConfigurationInteger() {
+        return config.getSubConfiguration("param.sub").get().getRequiredInteger("intValue");
+    }
+}
@@ -0,0 +1,106 @@
+package org.stepwiselabs.flair.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.stepwiselabs.flair.JAXBUtil;
+import org.openjdk.jmh.infra.Blackhole;
+import org.stepwiselabs.flair.benchmarks.xml.Catalog;
+import org.stepwiselabs.flair.benchmarks.xml.Item;
+import org.stepwiselabs.flair.benchmarks.xml.ObjectFactory;
+import org.stepwiselabs.flair.resource.ReadableResource;
+import org.stepwiselabs.flair.resource.ReadableResourceLoader;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLFilter;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.UnmarshallerHandler;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-document cost of {@link JAXBUtil#parse(ReadableResource, String, Class)} for a small document.
+ * {@link #parseWithNewContext()} is the baseline that builds a new {@link JAXBContext} and
+ * {@link SAXParserFactory} for every document, as {@code JAXBUtil} did before they were cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JAXBUtilBenchmark {
+
+    static final String CATALOG_RESOURCE = "classpath:jaxb/catalog.xml";
+    static final String CATALOG_SCHEMA_RESOURCE = "classpath:jaxb/catalog.xsd";
+
+    // parse is parameterized on the object factory, but yields the unmarshalled root element
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final Class<Object> OBJECT_FACTORY = (Class) ObjectFactory.class;
+
+    private ReadableResource catalog;
+    private ReadableResource catalogSchema;
+
+    @Setup
+    public void setup() {
+        catalog = ReadableResourceLoader.load(CATALOG_RESOURCE);
+        catalogSchema = ReadableResourceLoader.load(CATALOG_SCHEMA_RESOURCE);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return JAXBUtil.parse(catalog, Catalog.NAMESPACE, OBJECT_FACTORY);
+    }
+
+    @Benchmark
+    public Object parseWithSchema() {
+        return JAXBUtil.parse(catalog, Catalog.NAMESPACE, OBJECT_FACTORY, catalogSchema);
+    }
+
+    @Benchmark
+    public void streamItems(Blackhole blackhole) {
+        JAXBUtil.forEach(catalog, Catalog.NAMESPACE, ObjectFactory.class, "item", Item.class, blackhole::consume);
+    }
+
+    @Benchmark
+    public Object parseWithNewContext() throws Exception {
+        try (InputStream in = catalog.open()) {
+            JAXBContext context = JAXBContext.newInstance(OBJECT_FACTORY);
+            XMLFilter filter = new NamespaceFilter(Catalog.NAMESPACE);
+            filter.setParent(SAXParserFactory.newInstance().newSAXParser().getXMLReader());
+
+            Unmarshaller unmarshaller = context.createUnmarshaller();
+            UnmarshallerHandler handler = unmarshaller.getUnmarshallerHandler();
+            filter.setContentHandler(handler);
+            filter.parse(new InputSource(in));
+            return ((JAXBElement<?>) handler.getResult()).getValue();
+        }
+    }
+
+    /**
+     * Same default namespace handling as the filter inside {@code JAXBUtil}
+     */
+    private static class NamespaceFilter extends XMLFilterImpl {
+
+        private final String namespace;
+
+        NamespaceFilter(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+            super.startElement(uri.isEmpty() ? namespace : uri, localName, qName, atts);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            super.endElement(uri.isEmpty() ? namespace : uri, localName, qName);
+        }
+    }
+}
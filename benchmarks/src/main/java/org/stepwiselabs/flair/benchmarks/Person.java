@@ -0,0 +1,51 @@
+package org.stepwiselabs.flair.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simple bean used as the benchmark payload, mirroring the fixture used by {@code SerializerTest}.
+ */
+public class Person {
+
+    private String firstName;
+    private String lastName;
+
+    public Person() {
+    }
+
+    public Person(String firstName, String lastName) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    /**
+     * Creates {@code size} distinct people.
+     *
+     * @param size number of people to create
+     * @return a mutable list of people
+     */
+    public static List<Person> people(int size) {
+        List<Person> people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(new Person("first-" + i, "last-" + i));
+        }
+        return people;
+    }
+}
@@ -0,0 +1,60 @@
+package org.stepwiselabs.flair.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.stepwiselabs.flair.resource.ReadableResource;
+import org.stepwiselabs.flair.resource.ReadableResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ReadableResourceLoader#load(String)} and {@link ReadableResource#readContents()} for
+ * classpath and file system resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceLoaderBenchmark {
+
+    private Path file;
+    private String fileLocation;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("resource-loader-benchmark", ".properties");
+        ReadableResourceLoader.load(ConfigurationBenchmark.CONFIGURATION_RESOURCE)
+                .useResource(in -> Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING));
+        fileLocation = file.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ReadableResource loadClasspath() {
+        return ReadableResourceLoader.load(ConfigurationBenchmark.CONFIGURATION_RESOURCE);
+    }
+
+    @Benchmark
+    public String readClasspathContents() {
+        return ReadableResourceLoader.load(ConfigurationBenchmark.CONFIGURATION_RESOURCE).readContents();
+    }
+
+    @Benchmark
+    public ReadableResource loadFile() {
+        return ReadableResourceLoader.load(fileLocation);
+    }
+
+    @Benchmark
+    public String readFileContents() {
+        return ReadableResourceLoader.load(fileLocation).readContents();
+    }
+}
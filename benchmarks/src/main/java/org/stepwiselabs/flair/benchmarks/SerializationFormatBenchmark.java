@@ -0,0 +1,87 @@
+package org.stepwiselabs.flair.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.stepwiselabs.flair.SerializationFormat;
+import org.stepwiselabs.flair.Serializer;
+import org.stepwiselabs.flair.SerializerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares throughput of the {@link SerializationFormat}s for the {@link Person} fixture.  The encoded size of
+ * a single record and of the whole list is reported for each format as the {@link EncodedSize} counters of the
+ * serialize benchmarks, so it is kept in the results alongside the scores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    private static final int LIST_SIZE = 1000;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private SerializationFormat format;
+
+    private Serializer<Person> serializer;
+    private Person person;
+    private List<Person> people;
+    private byte[] personBytes;
+    private byte[] peopleBytes;
+
+    @Setup
+    public void setup() {
+        serializer = SerializerFactory.forFormat(format).createForClass(Person.class);
+        person = new Person("Joe", "Shmoe");
+        people = Person.people(LIST_SIZE);
+        personBytes = serializer.serializeAsBytes(person);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serializeList(people, out);
+        peopleBytes = out.toByteArray();
+    }
+
+    /**
+     * Encoded sizes in bytes.  They are set rather than accumulated, so each iteration reports the sizes as is.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long recordBytes;
+        public long listBytes;
+
+        @Setup(Level.Iteration)
+        public void record(SerializationFormatBenchmark benchmark) {
+            recordBytes = benchmark.personBytes.length;
+            listBytes = benchmark.peopleBytes.length;
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeRecord(EncodedSize size) {
+        return serializer.serializeAsBytes(person);
+    }
+
+    @Benchmark
+    public Person deserializeRecord() {
+        return serializer.deserialize(new ByteArrayInputStream(personBytes));
+    }
+
+    @Benchmark
+    public byte[] serializeList(EncodedSize size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(peopleBytes.length);
+        serializer.serializeList(people, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Person> deserializeList() {
+        return serializer.deserializeList(new ByteArrayInputStream(peopleBytes));
+    }
+}
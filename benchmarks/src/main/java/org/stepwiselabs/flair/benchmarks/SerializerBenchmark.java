@@ -0,0 +1,51 @@
+package org.stepwiselabs.flair.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.stepwiselabs.flair.Serializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip throughput of {@link Serializer} for a single value, a pretty printed value and a list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    private Serializer<Person> compact;
+    private Serializer<Person> pretty;
+    private Person person;
+    private List<Person> people;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper();
+        compact = Serializer.create(mapper, Person.class);
+        pretty = Serializer.create(mapper, Person.class, true);
+        person = new Person("Joe", "Shmoe");
+        people = Person.people(LIST_SIZE);
+    }
+
+    @Benchmark
+    public Person singleRoundTrip() {
+        return compact.deserialize(compact.serialize(person));
+    }
+
+    @Benchmark
+    public Person prettyRoundTrip() {
+        return pretty.deserialize(pretty.serialize(person));
+    }
+
+    @Benchmark
+    public List<Person> listRoundTrip() {
+        return compact.deserializeList(compact.serializeList(people));
+    }
+}
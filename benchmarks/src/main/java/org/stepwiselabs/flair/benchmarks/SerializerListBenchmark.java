@@ -0,0 +1,69 @@
+package org.stepwiselabs.flair.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import org.openjdk.jmh.annotations.*;
+import org.stepwiselabs.flair.Serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single pass {@link Serializer#deserializeList(String)} against the former
+ * {@code readTree}-then-traverse approach.  Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} to see the per-operation allocation difference.  That is the total allocated per
+ * operation and only a proxy for peak heap; run a large {@code size} under a small {@code -Xmx} to compare peak heap
+ * directly, as described in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private Serializer<Person> serializer;
+    private CollectionType listType;
+    private String arrayData;
+    private byte[] arrayBytes;
+
+    @Setup
+    public void setup() {
+        mapper = new ObjectMapper();
+        serializer = Serializer.create(mapper, Person.class);
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, Person.class);
+        arrayData = serializer.serializeList(Person.people(size));
+        arrayBytes = arrayData.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Person> treeBasedString() throws IOException {
+        JsonNode arrayNode = mapper.readTree(arrayData);
+        return mapper.readValue(arrayNode.traverse(), listType);
+    }
+
+    @Benchmark
+    public List<Person> streamingString() {
+        return serializer.deserializeList(arrayData);
+    }
+
+    @Benchmark
+    public List<Person> treeBasedStream() throws IOException {
+        JsonNode arrayNode = mapper.readTree(new ByteArrayInputStream(arrayBytes));
+        return mapper.readValue(arrayNode.traverse(), listType);
+    }
+
+    @Benchmark
+    public List<Person> streamingStream() {
+        return serializer.deserializeList(new ByteArrayInputStream(arrayBytes));
+    }
+}
@@ -0,0 +1,22 @@
+package org.stepwiselabs.flair.benchmarks.xml;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "catalog")
+public class Catalog {
+
+    public static final String NAMESPACE = "urn:stepwiselabs:flair:benchmark";
+
+    @XmlElement(name = "item")
+    private List<Item> items = new ArrayList<>();
+
+    public List<Item> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,31 @@
+package org.stepwiselabs.flair.benchmarks.xml;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.annotation.XmlElementDecl;
+import javax.xml.bind.annotation.XmlRegistry;
+import javax.xml.namespace.QName;
+
+@XmlRegistry
+public class ObjectFactory {
+
+    private static final QName CATALOG = new QName(Catalog.NAMESPACE, "catalog");
+    private static final QName ITEM = new QName(Catalog.NAMESPACE, "item");
+
+    public Catalog createCatalog() {
+        return new Catalog();
+    }
+
+    public Item createItem() {
+        return new Item();
+    }
+
+    @XmlElementDecl(namespace = Catalog.NAMESPACE, name = "catalog")
+    public JAXBElement<Catalog> createCatalog(Catalog value) {
+        return new JAXBElement<>(CATALOG, Catalog.class, value);
+    }
+
+    @XmlElementDecl(namespace = Catalog.NAMESPACE, name = "item")
+    public JAXBElement<Item> createItem(Item value) {
+        return new JAXBElement<>(ITEM, Item.class, value);
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * JAXB bindings for the benchmark XML fixtures.
+ */
+@XmlSchema(namespace = Catalog.NAMESPACE, elementFormDefault = XmlNsForm.QUALIFIED)
+package org.stepwiselabs.flair.benchmarks.xml;
+
+import javax.xml.bind.annotation.XmlNsForm;
+import javax.xml.bind.annotation.XmlSchema;
@@ -1,7 +1,12 @@
 package org.stepwiselabs.flair;
 
+import org.stepwiselabs.flair.impl.ConfigurationValues;
+
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface Configuration {
 
@@ -29,5 +34,97 @@ public interface Configuration {
 
     List<Float> getFloatList(String key);
 
+    default Optional<Long> getLong(String key) {
+        return getString(key).map(v -> ConfigurationValues.toLong(key, v));
+    }
+
+    default long getLong(String key, long defaultValue) {
+        return getLong(key).orElse(defaultValue);
+    }
+
+    default long getRequiredLong(String key) {
+        return ConfigurationValues.toLong(key, getRequiredString(key));
+    }
+
+    default Optional<Double> getDouble(String key) {
+        return getString(key).map(v -> ConfigurationValues.toDouble(key, v));
+    }
+
+    default double getDouble(String key, double defaultValue) {
+        return getDouble(key).orElse(defaultValue);
+    }
+
+    default double getRequiredDouble(String key) {
+        return ConfigurationValues.toDouble(key, getRequiredString(key));
+    }
+
+    /**
+     * Booleans are {@code true} or {@code false}, ignoring case.
+     */
+    default Optional<Boolean> getBoolean(String key) {
+        return getString(key).map(v -> ConfigurationValues.toBoolean(key, v));
+    }
+
+    default boolean getBoolean(String key, boolean defaultValue) {
+        return getBoolean(key).orElse(defaultValue);
+    }
+
+    default boolean getRequiredBoolean(String key) {
+        return ConfigurationValues.toBoolean(key, getRequiredString(key));
+    }
+
+    /**
+     * Durations are either ISO-8601, such as {@code PT30S}, or an integer amount followed by one of the units
+     * {@code ns}, {@code us}, {@code ms}, {@code s}, {@code m}, {@code h} or {@code d}.  An amount without a unit is
+     * in milliseconds.
+     */
+    default Optional<Duration> getDuration(String key) {
+        return getString(key).map(v -> ConfigurationValues.toDuration(key, v));
+    }
+
+    default Duration getDuration(String key, Duration defaultValue) {
+        return getDuration(key).orElse(defaultValue);
+    }
+
+    default Duration getRequiredDuration(String key) {
+        return ConfigurationValues.toDuration(key, getRequiredString(key));
+    }
+
+    /**
+     * Byte sizes are an integer amount optionally followed by one of the units {@code B}, {@code KB}, {@code MB},
+     * {@code GB} or {@code TB}, ignoring case.  Units are powers of 1024, and may also be written as {@code K} or
+     * {@code KiB} and so on.
+     *
+     * @return the size in bytes
+     */
+    default Optional<Long> getByteSize(String key) {
+        return getString(key).map(v -> ConfigurationValues.toByteSize(key, v));
+    }
+
+    default long getByteSize(String key, long defaultValue) {
+        return getByteSize(key).orElse(defaultValue);
+    }
+
+    default long getRequiredByteSize(String key) {
+        return ConfigurationValues.toByteSize(key, getRequiredString(key));
+    }
+
     Optional<Configuration> getSubConfiguration(String prefix);
+
+    /**
+     * @return an immutable set of every key, in key order
+     */
+    Set<String> keys();
+
+    /**
+     * @param prefix - A dotted key prefix
+     * @return an immutable set of the keys under {@code prefix}, in key order.  The keys keep the prefix, so they
+     * can be read from this {@code Configuration}
+     */
+    Set<String> keys(String prefix);
+
+    /**
+     * @return an immutable map of every key to its raw value, in key order
+     */
+    Map<String, String> asMap();
 }
@@ -0,0 +1,272 @@
+package org.stepwiselabs.flair;
+
+import org.stepwiselabs.flair.exceptions.AppConfigurationException;
+import org.stepwiselabs.flair.exceptions.AppException;
+import org.stepwiselabs.flair.exceptions.StateException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+import static org.stepwiselabs.flair.Preconditions.checkArg;
+
+/**
+ * Binds a {@link Configuration} onto an immutable configuration class through its constructor.
+ * <p>
+ * The constructor used is the only one the class declares, or else its public constructor with the most
+ * parameters.  Each parameter is bound to the key named by its {@link ConfigurationKey}, or else to the key of
+ * the same name, which requires classes to be compiled with {@code -parameters}.  Supported parameter types are
+ * {@code String}, {@code int}, {@code long}, {@code float}, {@code double}, {@code boolean} and their wrappers,
+ * {@code Duration}, {@code List}s of strings, integers and floats, {@code Optional}s of those, and nested
+ * configuration classes, which are bound from the sub-configuration under the parameter's key.
+ * <p>
+ * The binding plan for a class is computed once and cached, so binding is a straight read of each key.  Every
+ * missing or invalid value is collected, then reported together in a single {@code AppConfigurationException}
+ * whose params map each offending key to its problem.
+ */
+public final class ConfigurationBinder {
+
+    private static final ConcurrentMap<Class<?>, Plan> PLANS = new ConcurrentHashMap<>();
+
+    private ConfigurationBinder() {
+        throw new InstantiationError();
+    }
+
+    public static <T> T bind(Configuration config, Class<T> type) {
+        return bind(config, "", type);
+    }
+
+    /**
+     * Binds the sub-configuration under {@code prefix}.
+     *
+     * @throws AppConfigurationException if there is no configuration under {@code prefix}, or any value is
+     *                                   missing or invalid
+     */
+    public static <T> T bind(Configuration config, String prefix, Class<T> type) {
+        Configuration source = config;
+        String keyPrefix = "";
+        if (Strings.notBlank(prefix)) {
+            source = config.getSubConfiguration(prefix).orElseThrow(() ->
+                    AppConfigurationException.build("Missing required configuration")
+                            .withParam("prefix", prefix)
+                            .withParam("type", type.getName())
+                            .build());
+            keyPrefix = prefix + ".";
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        Object bound = bind(source, keyPrefix, type, errors);
+        if (!errors.isEmpty()) {
+            AppException.ExceptionBuilder<AppConfigurationException> builder =
+                    AppConfigurationException.build("Invalid configuration for %s", type.getName());
+            errors.forEach(builder::withParam);
+            throw builder.build();
+        }
+        return type.cast(bound);
+    }
+
+    private static Object bind(Configuration config, String keyPrefix, Class<?> type, Map<String, String> errors) {
+        Plan plan = PLANS.get(type);
+        if (plan == null) {
+            plan = PLANS.computeIfAbsent(type, Plan::new);
+        }
+
+        Object[] args = new Object[plan.bindings.length];
+        int errorCount = errors.size();
+        for (int i = 0; i < args.length; i++) {
+            args[i] = plan.bindings[i].read(config, keyPrefix, errors);
+        }
+        return errors.size() == errorCount ? plan.construct(args) : null;
+    }
+
+    private static String describe(AppException e) {
+        String value = e.getParams().get("paramValue");
+        return value == null ? e.getMessage() : e.getMessage() + ": '" + value + "'";
+    }
+
+    private static final class Plan {
+
+        private final Constructor<?> constructor;
+        private final Binding[] bindings;
+
+        Plan(Class<?> type) {
+            checkArg(!type.isInterface() && !Modifier.isAbstract(type.getModifiers()),
+                    "%s cannot be instantiated", type.getName());
+            this.constructor = constructorOf(type);
+            this.bindings = Arrays.stream(constructor.getParameters()).map(Binding::new).toArray(Binding[]::new);
+            constructor.setAccessible(true);
+        }
+
+        private static Constructor<?> constructorOf(Class<?> type) {
+            Constructor<?>[] constructors = type.getDeclaredConstructors();
+            if (constructors.length == 1) {
+                return constructors[0];
+            }
+            return Arrays.stream(constructors)
+                    .filter(c -> Modifier.isPublic(c.getModifiers()))
+                    .max(Comparator.comparingInt(Constructor::getParameterCount))
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            String.format("%s has no public constructor", type.getName())));
+        }
+
+        Object construct(Object[] args) {
+            try {
+                return constructor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw StateException.create(e.getCause(), "Error constructing %s",
+                        constructor.getDeclaringClass().getName());
+            } catch (ReflectiveOperationException e) {
+                throw StateException.create(e, "Error constructing %s", constructor.getDeclaringClass().getName());
+            }
+        }
+    }
+
+    private static final class Binding {
+
+        private final String key;
+        private final boolean optional;
+        private final Object primitiveDefault;
+        private final Class<?> nestedType;
+        private final BiFunction<Configuration, String, Optional<?>> reader;
+
+        Binding(Parameter parameter) {
+            ConfigurationKey configurationKey = parameter.getAnnotation(ConfigurationKey.class);
+            checkArg(configurationKey != null || parameter.isNamePresent(),
+                    "%s must be compiled with -parameters or annotate its parameters with @ConfigurationKey",
+                    parameter.getDeclaringExecutable().getDeclaringClass().getName());
+            this.key = configurationKey != null ? configurationKey.value() : parameter.getName();
+
+            Type type = parameter.getParameterizedType();
+            this.optional = rawType(type) == Optional.class;
+            Type valueType = optional ? typeArgument(type) : type;
+            this.primitiveDefault = valueType instanceof Class && ((Class<?>) valueType).isPrimitive() ?
+                    Array.get(Array.newInstance((Class<?>) valueType, 1), 0) :
+                    null;
+
+            BiFunction<Configuration, String, Optional<?>> scalar = scalarReader(valueType);
+            if (scalar != null) {
+                this.nestedType = null;
+                this.reader = scalar;
+            } else if (rawType(valueType) == List.class) {
+                this.nestedType = null;
+                this.reader = listReader(typeArgument(valueType));
+            } else {
+                checkArg(valueType instanceof Class, "unsupported configuration parameter type %s", valueType);
+                this.nestedType = (Class<?>) valueType;
+                this.reader = null;
+            }
+        }
+
+        Object read(Configuration config, String keyPrefix, Map<String, String> errors) {
+            Optional<?> value;
+            try {
+                value = nestedType == null ? reader.apply(config, key) : readNested(config, keyPrefix, errors);
+            } catch (AppException e) {
+                errors.put(keyPrefix + key, describe(e));
+                return primitiveDefault;
+            }
+            if (value == null) {
+                // the nested configuration is present but invalid, and its errors are already recorded
+                return null;
+            }
+
+            if (optional) {
+                return value;
+            }
+            if (!value.isPresent()) {
+                errors.put(keyPrefix + key, "Missing required parameter");
+                return primitiveDefault;
+            }
+            return value.get();
+        }
+
+        private Optional<?> readNested(Configuration config, String keyPrefix, Map<String, String> errors) {
+            Optional<Configuration> sub = config.getSubConfiguration(key);
+            if (!sub.isPresent()) {
+                return Optional.empty();
+            }
+            Object bound = bind(sub.get(), keyPrefix + key + ".", nestedType, errors);
+            return bound == null ? null : Optional.of(bound);
+        }
+
+        private static final BiFunction<Configuration, String, Optional<?>> STRING = Configuration::getString;
+        private static final BiFunction<Configuration, String, Optional<?>> INTEGER = Configuration::getInteger;
+        private static final BiFunction<Configuration, String, Optional<?>> FLOAT = Configuration::getFloat;
+        private static final BiFunction<Configuration, String, Optional<?>> LONG = Configuration::getLong;
+        private static final BiFunction<Configuration, String, Optional<?>> DOUBLE = Configuration::getDouble;
+        private static final BiFunction<Configuration, String, Optional<?>> BOOLEAN = Configuration::getBoolean;
+        private static final BiFunction<Configuration, String, Optional<?>> DURATION = Configuration::getDuration;
+
+        private static BiFunction<Configuration, String, Optional<?>> scalarReader(Type type) {
+            if (type == String.class) {
+                return STRING;
+            }
+            if (type == int.class || type == Integer.class) {
+                return INTEGER;
+            }
+            if (type == float.class || type == Float.class) {
+                return FLOAT;
+            }
+            if (type == long.class || type == Long.class) {
+                return LONG;
+            }
+            if (type == double.class || type == Double.class) {
+                return DOUBLE;
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return BOOLEAN;
+            }
+            if (type == Duration.class) {
+                return DURATION;
+            }
+            return null;
+        }
+
+        private static BiFunction<Configuration, String, Optional<?>> listReader(Type elementType) {
+            BiFunction<Configuration, String, List<?>> list;
+            if (elementType == String.class) {
+                list = Configuration::getStringList;
+            } else if (elementType == Integer.class) {
+                list = Configuration::getIntegerList;
+            } else if (elementType == Float.class) {
+                list = Configuration::getFloatList;
+            } else {
+                throw new IllegalArgumentException(
+                        String.format("unsupported configuration list type %s", elementType));
+            }
+            // a missing key reads as an empty list, so check it is present for it to be reported as missing
+            return (config, key) -> config.getString(key).isPresent() ?
+                    Optional.of(list.apply(config, key)) :
+                    Optional.empty();
+        }
+
+        private static Class<?> rawType(Type type) {
+            if (type instanceof Class) {
+                return (Class<?>) type;
+            }
+            return type instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) type).getRawType() : null;
+        }
+
+        private static Type typeArgument(Type type) {
+            checkArg(type instanceof ParameterizedType, "%s must declare its type argument", type);
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+    }
+}
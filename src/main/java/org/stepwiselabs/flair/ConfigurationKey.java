@@ -0,0 +1,19 @@
+package org.stepwiselabs.flair;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the configuration key that {@link ConfigurationBinder} binds to a constructor parameter.  Parameters
+ * without it are bound to the key of the same name.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ConfigurationKey {
+
+    String value();
+}
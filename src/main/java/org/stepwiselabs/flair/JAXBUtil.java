@@ -2,20 +2,58 @@ package org.stepwiselabs.flair;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.stepwiselabs.flair.exceptions.AppException;
 import org.stepwiselabs.flair.exceptions.BadDataException;
 import org.stepwiselabs.flair.exceptions.ResourceAccessException;
+import org.stepwiselabs.flair.exceptions.ValidationException;
 import org.stepwiselabs.flair.resource.ReadableResource;
 import org.xml.sax.Attributes;
+import org.xml.sax.ErrorHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLFilter;
+import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.XMLFilterImpl;
 
 import javax.xml.bind.*;
-import javax.xml.parsers.SAXParser;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility for parsing XML into JAXB POJOS
@@ -24,6 +62,38 @@ public class JAXBUtil {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(JAXBUtil.class);
 
+    /**
+     * {@link JAXBContext}s are thread safe and expensive to build, so one is kept per object factory class
+     */
+    private static final ConcurrentMap<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    /**
+     * {@link SAXParserFactory} is not guaranteed to be thread safe, so one is kept per thread.  Its parsers are
+     * namespace aware, as both JAXB and schema validation expect element namespaces and local names.
+     */
+    private static final ThreadLocal<SAXParserFactory> PARSER_FACTORY = ThreadLocal.withInitial(() -> {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory;
+    });
+
+    /**
+     * {@link Unmarshaller}s, {@link XMLReader}s and filters are not thread safe but can be reused between
+     * documents, so each thread keeps one set
+     */
+    private static final ThreadLocal<ReusableParser> PARSERS = new ThreadLocal<>();
+
+    /**
+     * Compiled {@link Schema}s are thread safe, so one is kept per XSD location
+     */
+    private static final ConcurrentMap<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    /**
+     * {@link XMLInputFactory} is safe to share once configured.  DTDs and external entities are not needed for
+     * JAXB documents, so they are turned off.
+     */
+    private static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
     public JAXBUtil() {
         throw new InstantiationError();
     }
@@ -38,61 +108,649 @@ public class JAXBUtil {
      * @return
      */
     public static <T> T parse(ReadableResource rr, String defaultNamespace, Class<T> objectFactoryClass) {
+        return parse(rr, defaultNamespace, objectFactoryClass, (Schema) null);
+    }
+
+    /**
+     * Parse the XML from the given {@link ReadableResource} into the parameterized JAXB POJO, validating it against
+     * the XSD in {@code xsd} in the same pass.  The schema is compiled once per XSD location and cached.  Every
+     * violation is logged, and if there are any a {@link ValidationException} is raised with the violations as its
+     * params, {@code violation.1}, {@code violation.2} and so on.
+     *
+     * @param rr - The {@link ReadableResource} to read from
+     * @param defaultNamespace - The default namespace to apply to the XML
+     * @param objectFactoryClass - JAXB object factory class
+     * @param xsd - The XSD to validate against
+     * @param <T>
+     * @return
+     */
+    public static <T> T parse(ReadableResource rr, String defaultNamespace, Class<T> objectFactoryClass,
+                              ReadableResource xsd) {
+        if (xsd == null) {
+            throw new IllegalArgumentException("The XSD resource is null");
+        }
+        return parse(rr, defaultNamespace, objectFactoryClass, getSchema(xsd));
+    }
+
+    private static <T> T parse(ReadableResource rr, String defaultNamespace, Class<T> objectFactoryClass,
+                               Schema schema) {
         if (rr == null) {
             throw new IllegalArgumentException("The JAXB resource is null");
         }
         try (InputStream in = rr.open()) {
-            JAXBContext jc = JAXBContext.newInstance(objectFactoryClass);
+            JAXBContext jc = getContext(objectFactoryClass);
+            ReusableParser parser = acquireParser();
+            boolean reusable = false;
+            try {
+                T result = parser.parse(in, defaultNamespace, objectFactoryClass, jc, schema);
+                reusable = true;
+                return result;
+            } finally {
+                releaseParser(parser, reusable);
+            }
 
-            // Set the parent XML Reader on the Filter
-            XMLFilter filter = new DefaultNamespaceFilter(defaultNamespace);
-            SAXParserFactory spf = SAXParserFactory.newInstance();
-            SAXParser sp = spf.newSAXParser();
-            filter.setParent(sp.getXMLReader());
+        } catch (Exception e) {
+            throw failure(rr, defaultNamespace, e);
+        }
 
-            // Set UnmarshallerHandler as ContextHandler on XMLFilter
-            Unmarshaller unmarshaller = jc.createUnmarshaller();
-            UnmarshallerHandler unmarshallerHandler = unmarshaller.getUnmarshallerHandler();
-            filter.setContentHandler(unmarshallerHandler);
-
-            unmarshaller.setEventHandler(event -> {
-                ValidationEventLocator locator = event.getLocator();
-                String url = locator.getURL() != null ? locator.getURL().toString() : null;
-                String message = String.format("Caught Validation Event {file=%s, line=%s, column=%s, message=%s",
-                        url, locator.getLineNumber(), event.getMessage());
-
-                if (event.getLinkedException() != null) {
-                    Throwable linkedException = event.getLinkedException();
-                    message += String.format(", exception=%s, exceptionMessage=%s}",
-                            linkedException.getClass().getSimpleName(), linkedException.getMessage());
-                } else {
-                    message += "}";
-                }
-                LOGGER.error(message);
-                return false;
-            });
+    }
 
-            filter.parse(new InputSource(in));
-            JAXBElement<T> element = (JAXBElement<T>) unmarshallerHandler.getResult();
-            return element.getValue();
+    /**
+     * Parses each of the given resources on the {@link ForkJoinPool#commonPool() common pool}.
+     * See {@link #parseAll(Collection, String, Class, Executor)}.
+     */
+    public static <T> BatchResult<T> parseAll(Collection<? extends ReadableResource> resources,
+                                              String defaultNamespace, Class<T> objectFactoryClass) {
+        return parseAll(resources, defaultNamespace, objectFactoryClass, ForkJoinPool.commonPool());
+    }
 
-        } catch (IOException e) {
+    /**
+     * Parses each of the given independent resources as {@link #parse(ReadableResource, String, Class)} does,
+     * running the parses on {@code executor}.  All parses share the cached {@link JAXBContext}.  A resource that
+     * fails to parse, or whose parse the executor rejects, is recorded in the result rather than aborting the
+     * batch.  Parsing is mostly blocking I/O for documents on disk, so a dedicated executor is preferable to the
+     * common pool for large batches.
+     *
+     * @param resources - The resources to parse
+     * @param defaultNamespace - The default namespace to apply to the XML
+     * @param objectFactoryClass - JAXB object factory class
+     * @param executor - The executor to parse on
+     * @param <T>
+     * @return the parsed values and failures, by resource, in the order of {@code resources}
+     * @throws IllegalArgumentException if a resource appears more than once in {@code resources}
+     */
+    public static <T> BatchResult<T> parseAll(Collection<? extends ReadableResource> resources,
+                                              String defaultNamespace, Class<T> objectFactoryClass,
+                                              Executor executor) {
+        if (resources == null) {
+            throw new IllegalArgumentException("The JAXB resources are null");
+        }
+        if (new HashSet<>(resources).size() != resources.size()) {
+            // results are keyed by resource, so a duplicate would overwrite the outcome of its first parse
+            throw new IllegalArgumentException("The JAXB resources contain duplicates");
+        }
+        try {
+            // fail the batch once, up front, rather than every resource if the object factory cannot be bound
+            getContext(objectFactoryClass);
+        } catch (JAXBException e) {
+            throw new BadDataException(e, "Cannot create JAXB context for %s", objectFactoryClass.getName());
+        }
+
+        Map<ReadableResource, CompletableFuture<T>> parses = new LinkedHashMap<>();
+        for (ReadableResource resource : resources) {
+            CompletableFuture<T> parse;
+            try {
+                parse = CompletableFuture.supplyAsync(
+                        () -> parse(resource, defaultNamespace, objectFactoryClass), executor);
+            } catch (RejectedExecutionException e) {
+                // a saturated or shut down executor fails only this resource, as a transient failure
+                parse = new CompletableFuture<>();
+                parse.completeExceptionally(
+                        new ResourceAccessException(e, "Executor rejected parse of resource '%s'", resource));
+            }
+            parses.put(resource, parse);
+        }
+
+        BatchResult<T> result = new BatchResult<>();
+        parses.forEach((resource, parse) -> {
+            try {
+                result.values.put(resource, parse.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                result.failures.put(resource, cause instanceof AppException ?
+                        (AppException) cause :
+                        new BadDataException(cause, "Cannot parse resource '%s'", resource));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Streams the child elements named {@code elementName} of the XML document's root element, unmarshalling one
+     * element at a time with StAX so that memory is bounded by a single element rather than the whole document.
+     * Other children of the root element are skipped.  The same default namespace handling as
+     * {@link #parse(ReadableResource, String, Class)} is applied.
+     * <p>
+     * The stream holds the resource open and must be closed.  Failures while reading are raised from the stream's
+     * terminal operation as a {@link ResourceAccessException} or {@link BadDataException}.
+     *
+     * @param rr - The {@link ReadableResource} to read from
+     * @param defaultNamespace - The default namespace to apply to the XML
+     * @param objectFactoryClass - JAXB object factory class
+     * @param elementName - Local name of the repeated child element
+     * @param elementType - JAXB type of the repeated child element
+     * @param <T>
+     * @return a lazily read {@link Stream} of the elements
+     */
+    public static <T> Stream<T> stream(ReadableResource rr, String defaultNamespace, Class<?> objectFactoryClass,
+                                       String elementName, Class<T> elementType) {
+        if (rr == null) {
+            throw new IllegalArgumentException("The JAXB resource is null");
+        }
+        InputStream in = null;
+        XMLStreamReader reader = null;
+        try {
+            in = rr.open();
+            reader = new DefaultNamespaceStreamReader(INPUT_FACTORY.createXMLStreamReader(in), defaultNamespace);
+            Unmarshaller unmarshaller = getContext(objectFactoryClass).createUnmarshaller();
+            unmarshaller.setEventHandler(LOGGING_EVENT_HANDLER);
+
+            ElementIterator<T> elements = new ElementIterator<>(rr, defaultNamespace, in, reader, unmarshaller,
+                    elementName, elementType);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(elements::close);
+        } catch (Exception e) {
+            closeQuietly(reader);
+            closeQuietly(in);
+            throw failure(rr, defaultNamespace, e);
+        }
+    }
+
+    /**
+     * Passes each child element named {@code elementName} of the XML document's root element to {@code consumer},
+     * as it is unmarshalled.  See {@link #stream(ReadableResource, String, Class, String, Class)}.
+     */
+    public static <T> void forEach(ReadableResource rr, String defaultNamespace, Class<?> objectFactoryClass,
+                                   String elementName, Class<T> elementType, Consumer<? super T> consumer) {
+        try (Stream<T> elements = stream(rr, defaultNamespace, objectFactoryClass, elementName, elementType)) {
+            elements.forEach(consumer);
+        }
+    }
+
+    /**
+     * Translates a parsing failure.  I/O failures are transient and become a {@link ResourceAccessException},
+     * anything else means the document is bad and becomes a {@link BadDataException}.
+     */
+    private static AppException failure(ReadableResource rr, String defaultNamespace, Exception e) {
+        if (e instanceof ResourceAccessException || e instanceof ValidationException) {
+            return (AppException) e;
+        }
+        if (e instanceof IOException) {
 
             // transient exception
             String msg = String.format("Caught '%s' while parsing resource '%s' with namespace '%s' : %s",
                     e.getClass().getSimpleName(), rr, defaultNamespace, e.getMessage());
             LOGGER.error(msg, e);
-            throw new ResourceAccessException(e, msg);
+            return new ResourceAccessException(e, "%s", msg);
+        }
 
-        } catch (Exception e) {
+        // non-transient exception
+        String msg = String.format("Cannot parse resource '%s' with namespace '%s' : %s",
+                rr, defaultNamespace, e.getMessage());
+        LOGGER.error(msg);
+        return new BadDataException(e, "%s", msg);
+    }
 
-            // non-transient exception
-            String msg = String.format("Cannot parse resource '%s' with namespace '%s' : %s",
-                    rr, defaultNamespace, e.getMessage());
-            LOGGER.error(msg);
-            throw new BadDataException(e, msg);
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                LOGGER.warn("Error closing XML stream reader", e);
+            }
         }
+    }
 
+    private static void closeQuietly(InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error closing XML resource", e);
+            }
+        }
+    }
+
+    /**
+     * Logs each validation event and stops the unmarshalling
+     */
+    private static final ValidationEventHandler LOGGING_EVENT_HANDLER = event -> {
+        LOGGER.error(describe(event));
+        return false;
+    };
+
+    private static String describe(ValidationEvent event) {
+        ValidationEventLocator locator = event.getLocator();
+        String url = locator.getURL() != null ? locator.getURL().toString() : null;
+        String message = String.format("Caught Validation Event {file=%s, line=%s, column=%s, message=%s",
+                url, locator.getLineNumber(), locator.getColumnNumber(), event.getMessage());
+
+        if (event.getLinkedException() != null) {
+            Throwable linkedException = event.getLinkedException();
+            message += String.format(", exception=%s, exceptionMessage=%s}",
+                    linkedException.getClass().getSimpleName(), linkedException.getMessage());
+        } else {
+            message += "}";
+        }
+        return message;
+    }
+
+    private static String describe(SAXParseException e) {
+        return String.format("Caught Validation Event {file=%s, line=%s, column=%s, message=%s}",
+                e.getSystemId(), e.getLineNumber(), e.getColumnNumber(), e.getMessage());
+    }
+
+    /**
+     * Returns the compiled {@link Schema} for the given XSD, compiling and caching it on first use.
+     *
+     * @param xsd - The XSD resource
+     * @return the cached {@link Schema}
+     */
+    static Schema getSchema(ReadableResource xsd) {
+        Schema schema = SCHEMAS.get(xsd.getLocation());
+        if (schema == null) {
+            // the system id lets the schema resolve relative includes and imports
+            String systemId = xsd.getPath().map(path -> path.toUri().toString()).orElse(xsd.getLocation());
+            try (InputStream in = xsd.open()) {
+                schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                        .newSchema(new StreamSource(in, systemId));
+            } catch (IOException e) {
+                throw ResourceAccessException.build("Error reading XSD")
+                        .withParam("resource", xsd.getLocation())
+                        .withCause(e)
+                        .build();
+            } catch (SAXException e) {
+                throw BadDataException.build("Invalid XSD")
+                        .withParam("resource", xsd.getLocation())
+                        .withCause(e)
+                        .build();
+            }
+            Schema existing = SCHEMAS.putIfAbsent(xsd.getLocation(), schema);
+            if (existing != null) {
+                schema = existing;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Logs and collects the schema violations of a document, reported by its {@link ValidatorHandler}, letting the
+     * parse continue past errors so that they are all reported.  JAXB's own events are logged and collected apart,
+     * since a value JAXB cannot convert is normally a schema violation already; they are only reported when the
+     * schema found nothing.  Only the first {@link #MAX_REPORTED_VIOLATIONS} of each are kept.
+     */
+    private static final class ViolationCollector implements ErrorHandler, ValidationEventHandler {
+
+        private static final int MAX_REPORTED_VIOLATIONS = 100;
+
+        private final List<String> violations = new ArrayList<>();
+        private final List<String> bindingErrors = new ArrayList<>();
+        private int violationCount;
+        private int bindingErrorCount;
+
+        @Override
+        public void warning(SAXParseException e) {
+            LOGGER.warn(describe(e));
+        }
+
+        @Override
+        public void error(SAXParseException e) {
+            String violation = describe(e);
+            LOGGER.error(violation);
+            if (violationCount++ < MAX_REPORTED_VIOLATIONS) {
+                violations.add(violation);
+            }
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            error(e);
+            throw e;
+        }
+
+        @Override
+        public boolean handleEvent(ValidationEvent event) {
+            String bindingError = describe(event);
+            LOGGER.error(bindingError);
+            if (bindingErrorCount++ < MAX_REPORTED_VIOLATIONS) {
+                bindingErrors.add(bindingError);
+            }
+            return event.getSeverity() != ValidationEvent.FATAL_ERROR;
+        }
+
+        boolean hasViolations() {
+            return violationCount > 0 || bindingErrorCount > 0;
+        }
+
+        AppException toException(Throwable cause) {
+            boolean schemaViolations = violationCount > 0;
+            List<String> reported = schemaViolations ? violations : bindingErrors;
+            AppException.ExceptionBuilder<ValidationException> builder =
+                    ValidationException.build("Document failed schema validation with %d violations",
+                            schemaViolations ? violationCount : bindingErrorCount);
+            for (int i = 0; i < reported.size(); i++) {
+                builder.withParam("violation." + (i + 1), reported.get(i));
+            }
+            return builder.withCause(cause).build();
+        }
+    }
+
+    /**
+     * Returns the thread's {@link ReusableParser}, or a new one if it is already in use further up the stack
+     */
+    private static ReusableParser acquireParser() throws ParserConfigurationException, SAXException {
+        ReusableParser parser = PARSERS.get();
+        if (parser == null || parser.inUse) {
+            ReusableParser created = new ReusableParser(PARSER_FACTORY.get().newSAXParser().getXMLReader());
+            if (parser == null) {
+                PARSERS.set(created);
+            }
+            parser = created;
+        }
+        parser.inUse = true;
+        return parser;
+    }
+
+    /**
+     * Returns the parser to its thread.  A parser that failed part way through a document is dropped rather than
+     * reused, since its state can no longer be trusted.
+     */
+    private static void releaseParser(ReusableParser parser, boolean reusable) {
+        parser.inUse = false;
+        if (!reusable && PARSERS.get() == parser) {
+            PARSERS.remove();
+        }
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Returns the {@link JAXBContext} for the given object factory class, creating and caching it on first use.
+     *
+     * @param objectFactoryClass - JAXB object factory class
+     * @return the cached {@link JAXBContext}
+     * @throws JAXBException if the context cannot be created
+     */
+    static JAXBContext getContext(Class<?> objectFactoryClass) throws JAXBException {
+        JAXBContext context = CONTEXTS.get(objectFactoryClass);
+        if (context == null) {
+            context = JAXBContext.newInstance(objectFactoryClass);
+            JAXBContext existing = CONTEXTS.putIfAbsent(objectFactoryClass, context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Outcome of {@link #parseAll(Collection, String, Class, Executor)}.  Each resource is in exactly one of
+     * {@link #getValues()} and {@link #getFailures()}.
+     *
+     * @param <T> the parsed type
+     */
+    public static final class BatchResult<T> {
+
+        private final Map<ReadableResource, T> values = new LinkedHashMap<>();
+        private final Map<ReadableResource, AppException> failures = new LinkedHashMap<>();
+
+        private BatchResult() {
+        }
+
+        /**
+         * @return the parsed value of each resource that succeeded
+         */
+        public Map<ReadableResource, T> getValues() {
+            return Collections.unmodifiableMap(values);
+        }
+
+        /**
+         * @return the failure of each resource that did not parse, either a transient
+         * {@link ResourceAccessException}, or a {@link BadDataException} or {@link ValidationException} for a
+         * document that cannot be used
+         */
+        public Map<ReadableResource, AppException> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return the resources that failed with a transient {@link ResourceAccessException} and may be retried
+         */
+        public List<ReadableResource> getRetryable() {
+            List<ReadableResource> retryable = new ArrayList<>();
+            failures.forEach((resource, failure) -> {
+                if (failure instanceof ResourceAccessException) {
+                    retryable.add(resource);
+                }
+            });
+            return retryable;
+        }
+
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+
+    /**
+     * Iterates the matching child elements of the root element.  Each element is unmarshalled from the reader's
+     * current position, which leaves the reader on the event following the element, so the cursor never descends
+     * below the root's children.
+     */
+    private static final class ElementIterator<T> implements Iterator<T> {
+
+        private final ReadableResource rr;
+        private final String defaultNamespace;
+        private final InputStream in;
+        private final XMLStreamReader reader;
+        private final Unmarshaller unmarshaller;
+        private final String elementName;
+        private final Class<T> elementType;
+        private boolean inRoot;
+        private boolean done;
+        private T next;
+
+        ElementIterator(ReadableResource rr, String defaultNamespace, InputStream in, XMLStreamReader reader,
+                        Unmarshaller unmarshaller, String elementName, Class<T> elementType) {
+            this.rr = rr;
+            this.defaultNamespace = defaultNamespace;
+            this.in = in;
+            this.reader = reader;
+            this.unmarshaller = unmarshaller;
+            this.elementName = elementName;
+            this.elementType = elementType;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = advance();
+                } catch (Exception e) {
+                    done = true;
+                    throw failure(rr, defaultNamespace, e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T element = next;
+            next = null;
+            return element;
+        }
+
+        private T advance() throws XMLStreamException, JAXBException {
+            int event = reader.getEventType();
+            while (true) {
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (!inRoot) {
+                        inRoot = true;
+                    } else if (elementName.equals(reader.getLocalName())) {
+                        return unmarshaller.unmarshal(reader, elementType).getValue();
+                    } else {
+                        skipElement();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT || event == XMLStreamConstants.END_DOCUMENT) {
+                    // the end of the root element, since children are always consumed whole
+                    return null;
+                }
+                event = reader.next();
+            }
+        }
+
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+
+        void close() {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                LOGGER.warn("Error closing XML stream reader", e);
+            }
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw ResourceAccessException.build("Error closing XML resource")
+                        .withParam("resource", rr.getLocation())
+                        .withCause(e)
+                        .build();
+            }
+        }
+    }
+
+    /**
+     * A {@link StreamReaderDelegate} that applies the default namespace to elements that have none, the StAX
+     * counterpart of {@link DefaultNamespaceFilter}.
+     */
+    private static class DefaultNamespaceStreamReader extends StreamReaderDelegate {
+
+        private final String defaultNamespace;
+
+        DefaultNamespaceStreamReader(XMLStreamReader reader, String defaultNamespace) {
+            super(reader);
+            this.defaultNamespace = defaultNamespace;
+        }
+
+        @Override
+        public String getNamespaceURI() {
+            String uri = super.getNamespaceURI();
+            if (!isStartElement() && !isEndElement()) {
+                return uri;
+            }
+            return Strings.isBlank(uri) ? defaultNamespace : uri;
+        }
+
+        @Override
+        public QName getName() {
+            QName name = super.getName();
+            return Strings.isBlank(name.getNamespaceURI()) ?
+                    new QName(defaultNamespace, name.getLocalPart(), name.getPrefix()) :
+                    name;
+        }
+    }
+
+    /**
+     * The per-thread parsing objects.  The {@link XMLReader} and {@link DefaultNamespaceFilter} are shared by every
+     * object factory class, an {@link Unmarshaller} is kept per class and a {@link ValidatorHandler} per schema.
+     * Each document gets a new {@link UnmarshallerHandler} and the filter is re-pointed at it and at the document's
+     * default namespace.
+     */
+    private static final class ReusableParser {
+
+        private final DefaultNamespaceFilter filter;
+        private final Map<Class<?>, Unmarshaller> unmarshallers;
+        private final Map<Schema, ValidatorHandler> validators;
+        private boolean inUse;
+
+        ReusableParser(XMLReader reader) {
+            this.filter = new DefaultNamespaceFilter(null);
+            this.filter.setParent(reader);
+            this.unmarshallers = new HashMap<>();
+            this.validators = new HashMap<>();
+        }
+
+        <T> T parse(InputStream in, String defaultNamespace, Class<T> objectFactoryClass, JAXBContext jc,
+                    Schema schema) throws JAXBException, IOException, SAXException {
+
+            Unmarshaller unmarshaller = unmarshallers.get(objectFactoryClass);
+            if (unmarshaller == null) {
+                unmarshaller = jc.createUnmarshaller();
+                unmarshallers.put(objectFactoryClass, unmarshaller);
+            }
+
+            // the event handler is applied to the handler when it is created, so it is set before creating it
+            ViolationCollector violations = schema == null ? null : new ViolationCollector();
+            unmarshaller.setEventHandler(violations == null ? LOGGING_EVENT_HANDLER : violations);
+
+            // Set UnmarshallerHandler as ContextHandler on XMLFilter, behind the schema's validator if there is one.
+            // Validating in the SAX chain rather than with Unmarshaller.setSchema keeps validation going past the
+            // first error, so every violation reaches the collector.
+            UnmarshallerHandler unmarshallerHandler = unmarshaller.getUnmarshallerHandler();
+            filter.setDefaultNamespace(defaultNamespace);
+            if (schema == null) {
+                filter.setContentHandler(unmarshallerHandler);
+            } else {
+                ValidatorHandler validator = validators.get(schema);
+                if (validator == null) {
+                    validator = schema.newValidatorHandler();
+                    validators.put(schema, validator);
+                }
+                validator.setErrorHandler(violations);
+                validator.setContentHandler(unmarshallerHandler);
+                filter.setContentHandler(validator);
+            }
+            try {
+                filter.parse(new InputSource(in));
+                if (violations != null && violations.hasViolations()) {
+                    throw violations.toException(null);
+                }
+                JAXBElement<T> element = (JAXBElement<T>) unmarshallerHandler.getResult();
+                return element.getValue();
+            } catch (SAXException | JAXBException e) {
+                if (violations != null && violations.hasViolations()) {
+                    throw violations.toException(e);
+                }
+                throw e;
+            } finally {
+                // don't hold on to the document's handlers between parses
+                filter.setContentHandler(null);
+                if (schema != null) {
+                    ValidatorHandler validator = validators.get(schema);
+                    validator.setContentHandler(null);
+                    validator.setErrorHandler(null);
+                }
+            }
+        }
     }
 
     /**
@@ -101,12 +759,16 @@ public class JAXBUtil {
      */
     private static class DefaultNamespaceFilter extends XMLFilterImpl {
 
-        private final String defaultNamespace;
+        private String defaultNamespace;
 
         public DefaultNamespaceFilter(String defaultNamespace) {
             this.defaultNamespace = defaultNamespace;
         }
 
+        void setDefaultNamespace(String defaultNamespace) {
+            this.defaultNamespace = defaultNamespace;
+        }
+
         @Override
         public void endElement(String uri, String localName, String qName) throws SAXException {
 
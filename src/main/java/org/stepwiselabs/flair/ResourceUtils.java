@@ -2,7 +2,9 @@ package org.stepwiselabs.flair;
 
 import org.stepwiselabs.flair.exceptions.ResourceAccessException;
 import org.stepwiselabs.flair.impl.ConfigurationImpl;
+import org.stepwiselabs.flair.impl.ConfigurationSnapshot;
 import org.stepwiselabs.flair.impl.ConfigurationStore;
+import org.stepwiselabs.flair.impl.ReloadingConfiguration;
 import org.stepwiselabs.flair.resource.ReadableResource;
 import org.stepwiselabs.flair.resource.ReadableResourceLoader;
 
@@ -38,6 +40,35 @@ public class ResourceUtils {
         return new ConfigurationImpl(new ConfigurationStore(loadProperties(resource)));
     }
 
+    /**
+     * Loads an immutable, compiled {@link Configuration} whose values are parsed at most once per type.
+     *
+     * @param location - The location of the properties resource
+     * @return a {@link ConfigurationSnapshot}
+     */
+    public static Configuration loadConfigurationSnapshot(String location){
+        return loadConfigurationSnapshot(ReadableResourceLoader.load(location));
+    }
+
+    public static Configuration loadConfigurationSnapshot(ReadableResource resource){
+        return new ConfigurationSnapshot(new ConfigurationStore(loadProperties(resource)));
+    }
+
+    /**
+     * Loads a {@link Configuration} that is re-read whenever its file changes.  The location must be a file system
+     * path.  Close it to stop watching the file.
+     *
+     * @param location - The file system location of the properties resource
+     * @return a {@link ReloadingConfiguration}
+     */
+    public static ReloadingConfiguration loadReloadingConfiguration(String location){
+        return loadReloadingConfiguration(ReadableResourceLoader.load(location));
+    }
+
+    public static ReloadingConfiguration loadReloadingConfiguration(ReadableResource resource){
+        return new ReloadingConfiguration(resource);
+    }
+
     public static Properties loadProperties(String location){
         return loadProperties(ReadableResourceLoader.load(location));
     }
@@ -0,0 +1,72 @@
+package org.stepwiselabs.flair;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import java.util.Optional;
+
+/**
+ * Wire formats supported by {@link Serializer}.  The binary formats produce smaller payloads and parse faster
+ * than JSON, but they cannot be represented as a {@link String}, so only the byte and stream based
+ * {@link Serializer} methods may be used with them.
+ */
+public enum SerializationFormat {
+
+    JSON("JSON"),
+    SMILE("Smile"),
+    CBOR("CBOR");
+
+    private final String formatName;
+
+    SerializationFormat(String formatName) {
+        this.formatName = formatName;
+    }
+
+    /**
+     * Creates a new {@link ObjectMapper} that reads and writes this format.
+     *
+     * @return a new {@link ObjectMapper}
+     */
+    public ObjectMapper newMapper() {
+        switch (this) {
+            case SMILE:
+                return new SmileMapper();
+            case CBOR:
+                return new CBORMapper();
+            default:
+                return new ObjectMapper();
+        }
+    }
+
+    /**
+     * Returns the format that the given {@code mapper} reads and writes.
+     *
+     * @param mapper
+     * @return the {@code SerializationFormat} of {@code mapper}
+     * @throws IllegalArgumentException when the mapper's format is not supported
+     */
+    public static SerializationFormat of(ObjectMapper mapper) {
+        return find(mapper).orElseThrow(() -> new IllegalArgumentException(
+                String.format("Unsupported serialization format '%s'", mapper.getFactory().getFormatName())));
+    }
+
+    /**
+     * Returns the format that the given {@code mapper} reads and writes, if it is one of these.  Mappers for other
+     * formats, e.g. XML or YAML, are still usable with {@link Serializer}.
+     *
+     * @param mapper
+     * @return the {@code SerializationFormat} of {@code mapper}, or empty if it is not one of these
+     */
+    public static Optional<SerializationFormat> find(ObjectMapper mapper) {
+        Preconditions.checkNotNull(mapper, "mapper");
+
+        String formatName = mapper.getFactory().getFormatName();
+        for (SerializationFormat format : values()) {
+            if (format.formatName.equals(formatName)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
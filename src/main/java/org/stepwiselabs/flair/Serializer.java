@@ -1,14 +1,40 @@
 package org.stepwiselabs.flair;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.stepwiselabs.flair.exceptions.ResourceAccessException;
+import org.stepwiselabs.flair.exceptions.SerializationDiagnostic;
 import org.stepwiselabs.flair.exceptions.SerializationException;
+import org.stepwiselabs.flair.resource.ReadableResource;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * General use parameterized serialization interface.
@@ -17,6 +43,11 @@ import java.util.List;
  */
 public abstract class Serializer<T> {
 
+    /**
+     * Number of newline-delimited records written between flushes when no batch size is given.
+     */
+    public static final int DEFAULT_LINE_FLUSH_BATCH_SIZE = 1000;
+
     /**
      * Deserialize the given string {@code data} into the parameterized type associated with
      * this {@code Serializer}.
@@ -39,6 +70,71 @@ public abstract class Serializer<T> {
      */
     public abstract T deserialize(InputStream data) throws SerializationException;
 
+    /**
+     * Deserialize {@code length} bytes of {@code data} starting at {@code offset} into the parameterized type
+     * associated with this {@code Serializer}.  The bytes are parsed directly without an intermediate
+     * {@link String} conversion.
+     *
+     * @param data   A byte array containing the serialized Object.
+     * @param offset Offset of the first byte of the serialized Object.
+     * @param length Number of bytes of the serialized Object.
+     * @return An {@link java.lang.Object object} of the parameterized type associated
+     * with this {@code Serializer}.
+     * @throws SerializationException
+     */
+    public abstract T deserialize(final byte[] data, final int offset, final int length)
+            throws SerializationException;
+
+    /**
+     * Deserialize the given {@code data} into the parameterized type associated with this {@code Serializer}.
+     *
+     * @param data A byte array containing the serialized Object.
+     * @return An {@link java.lang.Object object} of the parameterized type associated
+     * with this {@code Serializer}.
+     * @throws SerializationException
+     * @see #deserialize(byte[], int, int)
+     */
+    public T deserialize(final byte[] data) throws SerializationException {
+        return deserialize(data, 0, data.length);
+    }
+
+    /**
+     * Deserialize the remaining bytes of the given {@code data} buffer into the parameterized type
+     * associated with this {@code Serializer}.  Heap buffers are parsed in place, direct buffers are read
+     * through the parser's own input buffer.  The position of {@code data} is not modified.
+     *
+     * @param data A {@link ByteBuffer} containing the serialized Object.
+     * @return An {@link java.lang.Object object} of the parameterized type associated
+     * with this {@code Serializer}.
+     * @throws SerializationException
+     */
+    public abstract T deserialize(final ByteBuffer data) throws SerializationException;
+
+    /**
+     * Deserialize the given {@code file} into the parameterized type associated with this {@code Serializer}.
+     * The file is memory-mapped and parsed directly from the mapping; files too large to map are streamed.
+     *
+     * @param file The {@link Path} of a file containing the serialized Object.
+     * @return An {@link java.lang.Object object} of the parameterized type associated
+     * with this {@code Serializer}.
+     * @throws SerializationException
+     * @throws ResourceAccessException when the file cannot be opened or mapped
+     */
+    public T deserialize(final Path file) throws SerializationException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return deserialize(Channels.newInputStream(channel));
+            }
+            return deserialize(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException e) {
+            throw ResourceAccessException.build("Error mapping file")
+                    .withCause(e)
+                    .withParam("path", file.toString())
+                    .build();
+        }
+    }
+
     /**
      * Deserialize the given string {@code arrayData} into a {@link java.util.List list}
      * of Objects of the parameterized type associated with this {@code Serializer}.
@@ -61,6 +157,58 @@ public abstract class Serializer<T> {
     public abstract List<T> deserializeList(final InputStream arrayData)
             throws SerializationException;
 
+    /**
+     * Lazily deserializes the given {@code arrayData} stream into a {@link Stream stream} of Objects of the
+     * parameterized type associated with this {@code Serializer}.  Elements are read from the underlying
+     * stream one at a time as the returned {@code Stream} is consumed, so memory stays bounded by a single
+     * element regardless of the size of the array.
+     * <p>
+     * The returned {@code Stream} must be closed, which also closes {@code arrayData}.
+     *
+     * @param arrayData An {@link java.io.InputStream input stream} containing a serialized array of Objects.
+     * @return A {@link Stream} of Objects of the parameterized type associated with this {@code Serializer}.
+     * @throws SerializationException
+     */
+    public abstract Stream<T> deserializeStream(final InputStream arrayData) throws SerializationException;
+
+    /**
+     * Lazily deserializes the array contained in the given {@code resource}.
+     *
+     * @param resource The {@link ReadableResource} to read the serialized array from.
+     * @return A {@link Stream} of Objects of the parameterized type associated with this {@code Serializer}.
+     * @throws SerializationException
+     * @see #deserializeStream(InputStream)
+     */
+    public Stream<T> deserializeStream(final ReadableResource resource) throws SerializationException {
+        return deserializeStream(resource.open());
+    }
+
+    /**
+     * Lazily deserializes the given newline-delimited JSON (NDJSON) {@code lines} stream into a
+     * {@link Stream stream} of Objects of the parameterized type associated with this {@code Serializer}.
+     * A single parser is reused across all records and blank lines are skipped.  For binary formats the records
+     * are read back to back, as {@link #serializeLines(Iterable, OutputStream, int)} writes them.
+     * <p>
+     * The returned {@code Stream} must be closed, which also closes {@code lines}.
+     *
+     * @param lines An {@link java.io.InputStream input stream} of newline-delimited records.
+     * @return A {@link Stream} of Objects of the parameterized type associated with this {@code Serializer}.
+     * @throws SerializationException
+     */
+    public abstract Stream<T> deserializeLines(final InputStream lines) throws SerializationException;
+
+    /**
+     * Lazily deserializes the newline-delimited JSON (NDJSON) records contained in the given {@code resource}.
+     *
+     * @param resource The {@link ReadableResource} to read the records from.
+     * @return A {@link Stream} of Objects of the parameterized type associated with this {@code Serializer}.
+     * @throws SerializationException
+     * @see #deserializeLines(InputStream)
+     */
+    public Stream<T> deserializeLines(final ReadableResource resource) throws SerializationException {
+        return deserializeLines(resource.open());
+    }
+
     /**
      * Serializes the given {@code object}.
      *
@@ -90,6 +238,124 @@ public abstract class Serializer<T> {
     public abstract String serializeList(final List<T> objectList) throws SerializationException;
 
 
+    /**
+     * Serializes the given {@code object} directly to the {@code out} stream.  The stream is flushed but
+     * not closed.
+     *
+     * @param object
+     * @param out    The {@link OutputStream} to write the serialized form of {@code object} to.
+     * @throws SerializationException
+     */
+    public abstract void serialize(final T object, final OutputStream out) throws SerializationException;
+
+    /**
+     * Serializes the given {@code objects} as an array directly to the {@code out} stream.  Elements are
+     * written incrementally through a bounded buffer so the full document is never built in memory.  The
+     * stream is flushed but not closed.
+     *
+     * @param objects
+     * @param out     The {@link OutputStream} to write the serialized array to.
+     * @throws SerializationException
+     */
+    public abstract void serializeList(final Iterable<T> objects, final OutputStream out)
+            throws SerializationException;
+
+    /**
+     * Serializes the given {@code objects} as an array directly to the {@code out} stream.
+     *
+     * @param objects
+     * @param out     The {@link OutputStream} to write the serialized array to.
+     * @throws SerializationException
+     * @see #serializeList(Iterable, OutputStream)
+     */
+    public void serializeList(final Stream<T> objects, final OutputStream out) throws SerializationException {
+        serializeList((Iterable<T>) objects::iterator, out);
+    }
+
+    /**
+     * Serializes the given {@code objects} as an array directly to the {@code channel}.  The channel is
+     * not closed.
+     *
+     * @param objects
+     * @param channel The {@link WritableByteChannel} to write the serialized array to.
+     * @throws SerializationException
+     * @see #serializeList(Iterable, OutputStream)
+     */
+    public void serializeList(final Iterable<T> objects, final WritableByteChannel channel)
+            throws SerializationException {
+        serializeList(objects, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Serializes the given {@code objects} as an array directly to the {@code channel}.  The channel is
+     * not closed.
+     *
+     * @param objects
+     * @param channel The {@link WritableByteChannel} to write the serialized array to.
+     * @throws SerializationException
+     * @see #serializeList(Iterable, OutputStream)
+     */
+    public void serializeList(final Stream<T> objects, final WritableByteChannel channel)
+            throws SerializationException {
+        serializeList(objects, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Serializes the given {@code objects} as newline-delimited JSON (NDJSON), one compact record per line,
+     * directly to the {@code out} stream.  The stream is flushed after every {@code flushBatchSize} records
+     * and once more at the end, but is not closed.
+     * <p>
+     * Binary formats, such as Smile and CBOR, have no lines.  Their values are self-delimiting, so the records are
+     * written back to back without a separator, and {@link #deserializeLines(InputStream)} reads them back.
+     *
+     * @param objects
+     * @param out            The {@link OutputStream} to write the records to.
+     * @param flushBatchSize Number of records to write between flushes.
+     * @throws SerializationException
+     */
+    public abstract void serializeLines(final Iterable<T> objects, final OutputStream out, final int flushBatchSize)
+            throws SerializationException;
+
+    /**
+     * Serializes the given {@code objects} as newline-delimited JSON (NDJSON), flushing every
+     * {@link #DEFAULT_LINE_FLUSH_BATCH_SIZE} records.
+     *
+     * @param objects
+     * @param out     The {@link OutputStream} to write the records to.
+     * @throws SerializationException
+     * @see #serializeLines(Iterable, OutputStream, int)
+     */
+    public void serializeLines(final Iterable<T> objects, final OutputStream out) throws SerializationException {
+        serializeLines(objects, out, DEFAULT_LINE_FLUSH_BATCH_SIZE);
+    }
+
+    /**
+     * Serializes the given {@code objects} as newline-delimited JSON (NDJSON).
+     *
+     * @param objects
+     * @param out            The {@link OutputStream} to write the records to.
+     * @param flushBatchSize Number of records to write between flushes.
+     * @throws SerializationException
+     * @see #serializeLines(Iterable, OutputStream, int)
+     */
+    public void serializeLines(final Stream<T> objects, final OutputStream out, final int flushBatchSize)
+            throws SerializationException {
+        serializeLines((Iterable<T>) objects::iterator, out, flushBatchSize);
+    }
+
+    /**
+     * Serializes the given {@code objects} as newline-delimited JSON (NDJSON), flushing every
+     * {@link #DEFAULT_LINE_FLUSH_BATCH_SIZE} records.
+     *
+     * @param objects
+     * @param out     The {@link OutputStream} to write the records to.
+     * @throws SerializationException
+     * @see #serializeLines(Iterable, OutputStream, int)
+     */
+    public void serializeLines(final Stream<T> objects, final OutputStream out) throws SerializationException {
+        serializeLines(objects, out, DEFAULT_LINE_FLUSH_BATCH_SIZE);
+    }
+
     /**
      * Creates a new {@code Serializer} for the given {@code objectClass}.
      *
@@ -98,7 +364,7 @@ public abstract class Serializer<T> {
      * @return a new {@code Serializer}
      */
     public static <T> Serializer<T> create(final ObjectMapper mapper, final Class<T> objectClass) {
-        return new JacksonSerializer<>(mapper, objectClass);
+        return create(mapper, objectClass, false);
     }
 
     /**
@@ -110,7 +376,76 @@ public abstract class Serializer<T> {
      * @return a new {@code Serializer}
      */
     public static <T> Serializer<T> create(final ObjectMapper mapper, final Class<T> objectClass, boolean pretty) {
-        return new JacksonSerializer<>(mapper, objectClass, pretty);
+        return new JacksonSerializer<>(mapper, mapper.constructType(objectClass), objectClass.getSimpleName(), pretty,
+                SerializationDiagnostic.DEFAULT_MAX_SNIPPET_LENGTH);
+    }
+
+    /**
+     * Creates a new {@code Serializer} for the generic type captured by {@code typeRef}, e.g.
+     * {@code new TypeReference<Map<String, List<Foo>>>() {}}.  The type is resolved once so that generic
+     * containers bind in a single pass.
+     *
+     * @param mapper  ObjectMapper to use for serialization
+     * @param typeRef Reference to the parameterized type that the {@code Serializer} is associated with.
+     * @return a new {@code Serializer}
+     */
+    public static <T> Serializer<T> create(final ObjectMapper mapper, final TypeReference<T> typeRef) {
+        return create(mapper, typeRef, false);
+    }
+
+    /**
+     * Creates a new {@code Serializer} for the generic type captured by {@code typeRef}.
+     *
+     * @param mapper  ObjectMapper to use for serialization
+     * @param typeRef Reference to the parameterized type that the {@code Serializer} is associated with.
+     * @param pretty  Options flag to enable writing pretty output.
+     * @return a new {@code Serializer}
+     */
+    public static <T> Serializer<T> create(final ObjectMapper mapper, final TypeReference<T> typeRef,
+                                           boolean pretty) {
+        return create(mapper, mapper.getTypeFactory().constructType(typeRef), pretty);
+    }
+
+    /**
+     * Creates a new {@code Serializer} for the given resolved {@code type}.
+     *
+     * @param mapper ObjectMapper to use for serialization
+     * @param type   Resolved type that the {@code Serializer} is associated with.
+     * @return a new {@code Serializer}
+     */
+    public static <T> Serializer<T> create(final ObjectMapper mapper, final JavaType type) {
+        return create(mapper, type, false);
+    }
+
+    /**
+     * Creates a new {@code Serializer} for the given resolved {@code type}.
+     *
+     * @param mapper ObjectMapper to use for serialization
+     * @param type   Resolved type that the {@code Serializer} is associated with.
+     * @param pretty Options flag to enable writing pretty output.
+     * @return a new {@code Serializer}
+     */
+    public static <T> Serializer<T> create(final ObjectMapper mapper, final JavaType type, boolean pretty) {
+        return create(mapper, type, pretty, SerializationDiagnostic.DEFAULT_MAX_SNIPPET_LENGTH);
+    }
+
+    /**
+     * Creates a new {@code Serializer} for the given resolved {@code type}.
+     *
+     * @param mapper           ObjectMapper to use for serialization
+     * @param type             Resolved type that the {@code Serializer} is associated with.
+     * @param pretty           Options flag to enable writing pretty output.
+     * @param maxSnippetLength Maximum length of the input snippet attached to a {@link SerializationException}
+     *                         when deserialization fails, {@code 0} to attach only the failure location.
+     * @return a new {@code Serializer}
+     */
+    public static <T> Serializer<T> create(final ObjectMapper mapper, final JavaType type, boolean pretty,
+                                           int maxSnippetLength) {
+        Preconditions.checkArg(maxSnippetLength >= 0,
+                "max snippet length cannot be negative, was %s", maxSnippetLength);
+
+        String typeName = type.hasGenericTypes() ? type.toCanonical() : type.getRawClass().getSimpleName();
+        return new JacksonSerializer<>(mapper, type, typeName, pretty, maxSnippetLength);
     }
 
     /**
@@ -120,41 +455,100 @@ public abstract class Serializer<T> {
      */
     private static class JacksonSerializer<T> extends Serializer<T> {
 
-        private final Class<T> mapperClazz;
-        private final ObjectMapper mapper;
-        private final boolean pretty;
+        private final String typeName;
+        private final int maxSnippetLength;
 
-        JacksonSerializer(final ObjectMapper mapper, final Class<T> mapperClazz) {
-            this(mapper, mapperClazz, false);
-        }
+        // readers and writers are immutable and thread-safe, so they are resolved once up front
+        private final ObjectReader reader;
+        private final ObjectReader listReader;
+        private final ObjectWriter writer;
+        private final ObjectWriter listWriter;
+        private final ObjectWriter streamWriter;
+
+        // writers for values of exactly the serializer's type, with the Jackson serializer already resolved
+        private final Class<?> rawType;
+        private final ObjectWriter typedWriter;
+        private final ObjectWriter typedStreamWriter;
+        private final ObjectWriter lineWriter;
+        private final boolean lineSeparated;
+
+        JacksonSerializer(final ObjectMapper mapper, final JavaType valueType, final String typeName,
+                          boolean pretty, int maxSnippetLength) {
+            this.typeName = typeName;
+            this.maxSnippetLength = maxSnippetLength;
+
+            CollectionType listType = mapper.getTypeFactory().constructCollectionType(List.class, valueType);
+            this.reader = mapper.readerFor(valueType);
+            this.listReader = mapper.readerFor(listType);
+            this.writer = pretty ? mapper.writerWithDefaultPrettyPrinter() : mapper.writer();
+            this.listWriter = mapper.writerFor(List.class);
+
+            // callers own the streams they hand us, so they are flushed but never closed
+            this.streamWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            this.rawType = valueType.getRawClass();
+            this.typedWriter = writer.forType(valueType);
+            this.typedStreamWriter = typedWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
-        JacksonSerializer(final ObjectMapper mapper, final Class<T> mapperClazz, boolean pretty) {
-            this.mapper = mapper;
-            this.mapperClazz = mapperClazz;
-            this.pretty = pretty;
+            // records are always compact, separated by an explicit newline and flushed in batches.  Binary
+            // generators cannot write raw text, and their self-delimiting values need no separator
+            this.lineSeparated = !mapper.getFactory().canHandleBinaryNatively();
+            ObjectWriter compactWriter = mapper.writer()
+                    .without(SerializationFeature.INDENT_OUTPUT)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.lineWriter = lineSeparated ? compactWriter.withRootValueSeparator("") : compactWriter;
         }
 
         @Override
         public T deserialize(final String data) throws SerializationException {
             try {
-                return mapper.readValue(data, mapperClazz);
+                return reader.readValue(data);
             } catch (Exception e) {
-                throw new SerializationException(e,
-                        "Caught '%s' while trying to deserialize value '%s' into a '%s'. Error = %s",
-                        e.getClass().getSimpleName(), data,
-                        mapperClazz.getSimpleName(), e.getMessage());
+                throw new SerializationException(e, diagnose(e, data),
+                        "Caught '%s' while trying to deserialize value of length %s into a '%s'. Error = %s",
+                        e.getClass().getSimpleName(), data.length(),
+                        typeName, messageOf(e));
             }
         }
 
         @Override
         public T deserialize(final InputStream data) throws SerializationException {
             try {
-                return mapper.readValue(data, mapperClazz);
+                return reader.readValue(data);
             } catch (Exception e) {
-                throw new SerializationException(e,
+                throw new SerializationException(e, locate(e),
                         "Caught '%s' while trying to deserialize stream into a '%s'. Error = %s",
                         e.getClass().getSimpleName(),
-                        mapperClazz.getSimpleName(), e.getMessage());
+                        typeName, messageOf(e));
+            }
+        }
+
+        @Override
+        public T deserialize(final byte[] data, final int offset, final int length)
+                throws SerializationException {
+            try {
+                return reader.readValue(data, offset, length);
+            } catch (Exception e) {
+                throw new SerializationException(e, diagnose(e, data, offset, length),
+                        "Caught '%s' while trying to deserialize bytes into a '%s'. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+        }
+
+        @Override
+        public T deserialize(final ByteBuffer data) throws SerializationException {
+            if (data.hasArray()) {
+                return deserialize(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            }
+            try {
+                return reader.readValue(new ByteBufferBackedInputStream(data.duplicate()));
+            } catch (Exception e) {
+                throw new SerializationException(e, locate(e),
+                        "Caught '%s' while trying to deserialize buffer into a '%s'. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
             }
         }
 
@@ -162,77 +556,259 @@ public abstract class Serializer<T> {
         public List<T> deserializeList(final InputStream arrayData)
                 throws SerializationException {
             try {
-                JsonNode arrayNode = mapper.readTree(arrayData);
-                CollectionType typeRef = mapper.getTypeFactory()
-                        .constructCollectionType(List.class, mapperClazz);
-                return mapper.readValue(arrayNode.traverse(), typeRef);
+                return listReader.readValue(arrayData);
             } catch (Exception e) {
-                throw new SerializationException(e,
+                throw new SerializationException(e, locate(e),
                         "Caught '%s' while trying to deserialize array stream into a '%s'. Error = %s",
                         e.getClass().getSimpleName(),
-                        mapperClazz.getSimpleName(), e.getMessage());
+                        typeName, messageOf(e));
             }
         }
 
         @Override
         public List<T> deserializeList(final String arrayData) throws SerializationException {
             try {
-                JsonNode arrayNode = mapper.readTree(arrayData);
-                CollectionType typeRef = mapper.getTypeFactory()
-                        .constructCollectionType(List.class, mapperClazz);
-                return mapper.readValue(arrayNode.traverse(), typeRef);
+                return listReader.readValue(arrayData);
             } catch (Exception e) {
-                throw new SerializationException(e,
-                        "Caught '%s' while trying to deserialize array '%s' into a '%s'. Error = %s",
-                        e.getClass().getSimpleName(), arrayData,
-                        mapperClazz.getSimpleName(), e.getMessage());
+                throw new SerializationException(e, diagnose(e, arrayData),
+                        "Caught '%s' while trying to deserialize array of length %s into a '%s'. Error = %s",
+                        e.getClass().getSimpleName(), arrayData.length(),
+                        typeName, messageOf(e));
             }
         }
 
+        @Override
+        public Stream<T> deserializeStream(final InputStream arrayData) throws SerializationException {
+            MappingIterator<T> values;
+            try {
+                values = reader.readValues(arrayData);
+            } catch (Exception e) {
+                closeQuietly(arrayData);
+                throw new SerializationException(e, locate(e),
+                        "Caught '%s' while trying to open array stream of '%s'. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+
+            ElementIterator<T> elements = new ElementIterator<>(values, typeName);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                    .onClose(elements::close);
+        }
+
+        @Override
+        public Stream<T> deserializeLines(final InputStream lines) throws SerializationException {
+            MappingIterator<T> values;
+            try {
+                // binding from an explicit parser keeps root level arrays from being unwrapped
+                values = reader.readValues(reader.createParser(lines));
+            } catch (Exception e) {
+                closeQuietly(lines);
+                throw new SerializationException(e, locate(e),
+                        "Caught '%s' while trying to open line stream of '%s'. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+
+            ElementIterator<T> elements = new ElementIterator<>(values, typeName);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                    .onClose(elements::close);
+        }
+
         @Override
         public String serializeList(final List<T> objectList) throws SerializationException {
             try {
-                return mapper.writerFor(List.class).writeValueAsString(objectList);
+                return listWriter.writeValueAsString(objectList);
             } catch (JsonProcessingException e) {
                 throw new SerializationException(e,
-                        "Caught '%s' while trying to serialize list '%s' into a '%s'.  Error = %s",
-                        e.getClass().getSimpleName(), Arrays.toString(objectList.toArray()),
-                        mapperClazz.getSimpleName(), e.getMessage());
+                        "Caught '%s' while trying to serialize list of %s '%s'.  Error = %s",
+                        e.getClass().getSimpleName(), objectList.size(),
+                        typeName, messageOf(e));
             }
         }
 
         @Override
         public String serialize(final T obj) throws SerializationException {
             try {
-                if (pretty) {
-                    return mapper.writerWithDefaultPrettyPrinter()
-                            .writeValueAsString(obj);
-                } else {
-                    return mapper.writeValueAsString(obj);
+                return writerFor(obj, typedWriter, writer).writeValueAsString(obj);
+            } catch (Exception e) {
+                throw new SerializationException(e,
+                        "Caught '%s' while trying to serialize a '%s'. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+        }
+
+        @Override
+        public void serialize(final T obj, final OutputStream out) throws SerializationException {
+            try {
+                writerFor(obj, typedStreamWriter, streamWriter).writeValue(out, obj);
+            } catch (Exception e) {
+                throw new SerializationException(e,
+                        "Caught '%s' while trying to serialize a '%s' to stream. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+        }
+
+        @Override
+        public void serializeList(final Iterable<T> objects, final OutputStream out)
+                throws SerializationException {
+            try (SequenceWriter sequence = streamWriter.writeValuesAsArray(out)) {
+                for (T obj : objects) {
+                    sequence.write(obj);
                 }
             } catch (Exception e) {
-                throw new SerializationException(
-                        "Caught '%s' while trying to serialize object '%s'. "
-                                + "Error = %s", e,
-                        e.getClass().getSimpleName(), obj, e.getMessage());
+                throw new SerializationException(e,
+                        "Caught '%s' while trying to serialize array of '%s' to stream. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+        }
+
+        @Override
+        public void serializeLines(final Iterable<T> objects, final OutputStream out, final int flushBatchSize)
+                throws SerializationException {
+            Preconditions.checkArg(flushBatchSize > 0, "flush batch size must be positive, was %s", flushBatchSize);
+
+            try (JsonGenerator generator = lineWriter.createGenerator(out)) {
+                int pending = 0;
+                for (T obj : objects) {
+                    lineWriter.writeValue(generator, obj);
+                    if (lineSeparated) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++pending == flushBatchSize) {
+                        generator.flush();
+                        pending = 0;
+                    }
+                }
+            } catch (Exception e) {
+                throw new SerializationException(e,
+                        "Caught '%s' while trying to serialize lines of '%s' to stream. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
             }
         }
 
         @Override
         public byte[] serializeAsBytes(final T obj) throws SerializationException {
             try {
-                if (pretty) {
-                    return mapper.writerWithDefaultPrettyPrinter()
-                            .writeValueAsBytes(obj);
-                } else {
-                    return mapper.writeValueAsBytes(obj);
-                }
+                return writerFor(obj, typedWriter, writer).writeValueAsBytes(obj);
+            } catch (Exception e) {
+                throw new SerializationException(e,
+                        "Caught '%s' while trying to serialize a '%s'. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+        }
+
+        /**
+         * Subclasses are written with the untyped writer so that they keep their own properties.
+         */
+        private ObjectWriter writerFor(final T obj, final ObjectWriter typed, final ObjectWriter untyped) {
+            return obj != null && obj.getClass() == rawType ? typed : untyped;
+        }
+
+        private SerializationDiagnostic diagnose(final Exception e, final String data) {
+            JsonLocation location = locationOf(e);
+            if (location == null) {
+                return null;
+            }
+            return SerializationDiagnostic.forText(data, location.getCharOffset(),
+                    location.getLineNr(), location.getColumnNr(), maxSnippetLength);
+        }
+
+        private SerializationDiagnostic diagnose(final Exception e, final byte[] data, final int offset,
+                                                 final int length) {
+            JsonLocation location = locationOf(e);
+            if (location == null) {
+                return null;
+            }
+            return SerializationDiagnostic.forBytes(data, offset, length, location.getByteOffset(),
+                    location.getLineNr(), location.getColumnNr(), maxSnippetLength);
+        }
+    }
+
+    /**
+     * Adapts a Jackson {@link MappingIterator} to a plain {@link Iterator}, translating parse failures into
+     * {@link SerializationException}s.
+     *
+     * @param <T>
+     */
+    private static class ElementIterator<T> implements Iterator<T> {
+
+        private final MappingIterator<T> values;
+        private final String typeName;
+
+        ElementIterator(final MappingIterator<T> values, final String typeName) {
+            this.values = values;
+            this.typeName = typeName;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return values.hasNextValue();
             } catch (Exception e) {
-                throw new SerializationException(
-                        "Caught '%s' while trying to serialize object '%s'. "
-                                + "Error = %s", e,
-                        e.getClass().getSimpleName(), obj, e.getMessage());
+                throw new SerializationException(e, locate(e),
+                        "Caught '%s' while trying to read the next '%s' from array stream. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return values.nextValue();
+            } catch (Exception e) {
+                throw new SerializationException(e, locate(e),
+                        "Caught '%s' while trying to deserialize array element into a '%s'. Error = %s",
+                        e.getClass().getSimpleName(),
+                        typeName, messageOf(e));
             }
         }
+
+        void close() {
+            try {
+                values.close();
+            } catch (IOException e) {
+                throw new ResourceAccessException(e, "Unable to close stream: %s", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Jackson's own message appends the failure location and an excerpt of the source, which is payload content
+     * not bounded by the snippet length, so only its original message is used.
+     */
+    private static String messageOf(final Exception e) {
+        return e instanceof JsonProcessingException ?
+                ((JsonProcessingException) e).getOriginalMessage() :
+                e.getMessage();
+    }
+
+    private static JsonLocation locationOf(final Exception e) {
+        return e instanceof JsonProcessingException ? ((JsonProcessingException) e).getLocation() : null;
+    }
+
+    private static SerializationDiagnostic locate(final Exception e) {
+        JsonLocation location = locationOf(e);
+        if (location == null) {
+            return null;
+        }
+        long offset = location.getCharOffset() >= 0 ? location.getCharOffset() : location.getByteOffset();
+        return SerializationDiagnostic.forLocation(offset, location.getLineNr(), location.getColumnNr());
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignored, the original failure is more interesting
+        }
     }
 }
@@ -1,20 +1,239 @@
 package org.stepwiselabs.flair;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.stepwiselabs.flair.exceptions.SerializationDiagnostic;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creates {@link Serializer}s that share a single {@link ObjectMapper}.  Serializers are memoized per
+ * (type, pretty) so repeat lookups are a single map hit; the format is fixed by the factory's mapper.  The
+ * cache is bounded by {@code maxCachedSerializers}, once it is full the oldest serializer is evicted to make room
+ * for each new one.
+ */
 public class SerializerFactory {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SerializerFactory.class);
+
+    public static final int DEFAULT_MAX_CACHED_SERIALIZERS = 512;
+
     public final ObjectMapper mapper;
+    private final Optional<SerializationFormat> format;
+    private final int maxCachedSerializers;
+    private final int maxSnippetLength;
+    private final ConcurrentMap<Key, Serializer<?>> cache;
+    private final Queue<Key> insertionOrder;
+    private final AtomicBoolean evicting;
 
     public SerializerFactory(ObjectMapper mapper) {
+        this(mapper, DEFAULT_MAX_CACHED_SERIALIZERS);
+    }
+
+    public SerializerFactory(ObjectMapper mapper, int maxCachedSerializers) {
+        this(mapper, maxCachedSerializers, SerializationDiagnostic.DEFAULT_MAX_SNIPPET_LENGTH);
+    }
+
+    /**
+     * @param mapper               ObjectMapper shared by all created serializers
+     * @param maxCachedSerializers Maximum number of serializers to retain
+     * @param maxSnippetLength     Maximum length of the input snippet attached to a
+     *                             {@link org.stepwiselabs.flair.exceptions.SerializationException} when
+     *                             deserialization fails, {@code 0} to attach only the failure location
+     */
+    public SerializerFactory(ObjectMapper mapper, int maxCachedSerializers, int maxSnippetLength) {
+        Preconditions.checkNotNull(mapper, "mapper");
+        Preconditions.checkArg(maxCachedSerializers >= 0,
+                "max cached serializers cannot be negative, was %s", maxCachedSerializers);
+        Preconditions.checkArg(maxSnippetLength >= 0,
+                "max snippet length cannot be negative, was %s", maxSnippetLength);
+
         this.mapper = mapper;
+        this.format = SerializationFormat.find(mapper);
+        this.maxCachedSerializers = maxCachedSerializers;
+        this.maxSnippetLength = maxSnippetLength;
+        this.cache = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+        this.evicting = new AtomicBoolean();
+    }
+
+    /**
+     * Creates a factory for {@code Serializer}s of the given {@code format}.
+     *
+     * @param format
+     * @return a new {@code SerializerFactory}
+     */
+    public static SerializerFactory forFormat(SerializationFormat format) {
+        Preconditions.checkNotNull(format, "format");
+        return new SerializerFactory(format.newMapper());
+    }
+
+    /**
+     * @return a factory for JSON {@code Serializer}s
+     */
+    public static SerializerFactory json() {
+        return forFormat(SerializationFormat.JSON);
+    }
+
+    /**
+     * @return a factory for binary Smile {@code Serializer}s
+     */
+    public static SerializerFactory smile() {
+        return forFormat(SerializationFormat.SMILE);
+    }
+
+    /**
+     * @return a factory for binary CBOR {@code Serializer}s
+     */
+    public static SerializerFactory cbor() {
+        return forFormat(SerializationFormat.CBOR);
+    }
+
+    /**
+     * @return the format of the factory's mapper, or empty if it is not one of the {@link SerializationFormat}s
+     */
+    public Optional<SerializationFormat> getFormat() {
+        return format;
     }
 
     public <T> Serializer<T> createForClass(Class<T> clazz) {
-        return Serializer.create(mapper, clazz);
+        return createForClass(clazz, false);
     }
 
     public <T> Serializer<T> createForClass(Class<T> clazz, boolean pretty) {
-        return Serializer.create(mapper, clazz, pretty);
+        Key key = new Key(clazz, pretty);
+        Serializer<T> serializer = cached(key);
+        return serializer != null ? serializer : retain(key,
+                Serializer.<T>create(mapper, mapper.constructType(clazz), pretty, maxSnippetLength));
+    }
+
+    /**
+     * Returns a {@code Serializer} for the generic type captured by {@code typeRef}, e.g.
+     * {@code new TypeReference<Map<String, List<Foo>>>() {}}.
+     *
+     * @param typeRef
+     * @return a {@code Serializer} for the referenced type
+     */
+    public <T> Serializer<T> createForType(TypeReference<T> typeRef) {
+        return createForType(typeRef, false);
+    }
+
+    public <T> Serializer<T> createForType(TypeReference<T> typeRef, boolean pretty) {
+        return createForType(mapper.getTypeFactory().constructType(typeRef), pretty);
+    }
+
+    /**
+     * Returns a {@code Serializer} for the given resolved {@code type}.
+     *
+     * @param type
+     * @return a {@code Serializer} for {@code type}
+     */
+    public <T> Serializer<T> createForType(JavaType type) {
+        return createForType(type, false);
+    }
+
+    public <T> Serializer<T> createForType(JavaType type, boolean pretty) {
+        Key key = new Key(type, pretty);
+        Serializer<T> serializer = cached(key);
+        return serializer != null ? serializer : retain(key,
+                Serializer.<T>create(mapper, type, pretty, maxSnippetLength));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Serializer<T> cached(Key key) {
+        return (Serializer<T>) cache.get(key);
+    }
+
+    /**
+     * Caches {@code serializer} unless another thread got there first, evicting the oldest serializers while the
+     * cache is over its bound.  Reads never lock, so an evicted serializer may still be handed out by a concurrent
+     * lookup.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Serializer<T> retain(Key key, Serializer<T> serializer) {
+        if (maxCachedSerializers == 0) {
+            return serializer;
+        }
+        Serializer<?> existing = cache.putIfAbsent(key, serializer);
+        if (existing != null) {
+            return (Serializer<T>) existing;
+        }
+        insertionOrder.add(key);
+        while (cache.size() > maxCachedSerializers) {
+            Key eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            cache.remove(eldest);
+            if (evicting.compareAndSet(false, true)) {
+                LOGGER.warn("Serializer cache is full at {} entries, evicting the oldest serializers; consider "
+                        + "raising maxCachedSerializers", maxCachedSerializers);
+            }
+        }
+        return serializer;
+    }
+
+    /**
+     * Pre-warms the factory for the given {@code classes} so that the first request does not pay Jackson's
+     * bean introspection cost.  A compact {@code Serializer} is cached for each class, which resolves the Jackson
+     * serializer and deserializer for it when it is created.
+     *
+     * @param classes
+     */
+    public void warm(Class<?>... classes) {
+        warm(Arrays.asList(classes));
+    }
+
+    /**
+     * @param classes
+     * @see #warm(Class[])
+     */
+    public void warm(Collection<Class<?>> classes) {
+        Preconditions.checkNotNull(classes, "classes");
+
+        for (Class<?> clazz : classes) {
+            createForClass(clazz);
+        }
+    }
+
+    /**
+     * Cache key for a memoized {@code Serializer}.  The type is either a raw {@link Class} or a resolved
+     * {@link JavaType}, so plain class lookups never have to go through the {@code TypeFactory}.
+     */
+    private static final class Key {
+        private final Object type;
+        private final boolean pretty;
+
+        Key(Object type, boolean pretty) {
+            this.type = type;
+            this.pretty = pretty;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return pretty == other.pretty && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + (pretty ? 1 : 0);
+        }
     }
 }
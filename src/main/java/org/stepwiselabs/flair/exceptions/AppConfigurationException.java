@@ -35,7 +35,7 @@ public class AppConfigurationException extends AppException {
         return new AppConfigurationException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
-        return new ExceptionBuilder<AppConfigurationException>((cause, params) -> new AppConfigurationException(cause, params, format, args));
+    public static ExceptionBuilder<AppConfigurationException> build(final String format, final Object... args) {
+        return new ExceptionBuilder<>((cause, params) -> new AppConfigurationException(cause, params, format, args));
     }
 }
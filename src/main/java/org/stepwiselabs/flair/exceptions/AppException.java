@@ -101,7 +101,7 @@ public class AppException extends RuntimeException {
         return new AppException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
+    public static ExceptionBuilder<? extends AppException> build(final String format, final Object... args) {
         return new ExceptionBuilder<AppException>((cause, params) -> new AppException(cause, params, format, args));
     }
 
@@ -35,7 +35,7 @@ public class BadDataException extends AppException {
         return new BadDataException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
-        return new ExceptionBuilder<BadDataException>((cause, params) -> new BadDataException(cause, params, format, args));
+    public static ExceptionBuilder<BadDataException> build(final String format, final Object... args) {
+        return new ExceptionBuilder<>((cause, params) -> new BadDataException(cause, params, format, args));
     }
 }
@@ -35,7 +35,7 @@ public class NotFoundException extends AppException {
         return new NotFoundException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
-        return new ExceptionBuilder<NotFoundException>((cause, params) -> new NotFoundException(cause, params, format, args));
+    public static ExceptionBuilder<NotFoundException> build(final String format, final Object... args) {
+        return new ExceptionBuilder<>((cause, params) -> new NotFoundException(cause, params, format, args));
     }
 }
@@ -35,7 +35,7 @@ public class ResourceAccessException extends AppException {
         return new ResourceAccessException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
-        return new ExceptionBuilder<ResourceAccessException>((cause, params) -> new ResourceAccessException(cause, params, format, args));
+    public static ExceptionBuilder<ResourceAccessException> build(final String format, final Object... args) {
+        return new ExceptionBuilder<>((cause, params) -> new ResourceAccessException(cause, params, format, args));
     }
 }
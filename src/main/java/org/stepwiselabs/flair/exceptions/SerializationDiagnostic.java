@@ -0,0 +1,146 @@
+package org.stepwiselabs.flair.exceptions;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded description of where serialized data failed to parse.  Only a snippet of at most
+ * {@code maxSnippetLength} characters around the failure is retained, never the full payload, and the
+ * human readable form is only rendered when it is first asked for.
+ */
+public final class SerializationDiagnostic implements Serializable {
+
+    private static final long serialVersionUID = -3304281776592104519L;
+
+    /**
+     * Snippet length used when a {@code Serializer} is not configured with one.
+     */
+    public static final int DEFAULT_MAX_SNIPPET_LENGTH = 128;
+
+    private static final String ELLIPSIS = "...";
+
+    private final long offset;
+    private final int line;
+    private final int column;
+    private final String snippet;
+    private transient String rendered;
+
+    private SerializationDiagnostic(long offset, int line, int column, String snippet) {
+        this.offset = offset;
+        this.line = line;
+        this.column = column;
+        this.snippet = snippet;
+    }
+
+    /**
+     * Creates a diagnostic that carries only the location of the failure.
+     *
+     * @param offset Character or byte offset of the failure, or {@code -1} if unknown
+     * @param line   Line number of the failure, or {@code -1} if unknown
+     * @param column Column number of the failure, or {@code -1} if unknown
+     * @return a new {@code SerializationDiagnostic}
+     */
+    public static SerializationDiagnostic forLocation(long offset, int line, int column) {
+        return new SerializationDiagnostic(offset, line, column, null);
+    }
+
+    /**
+     * Creates a diagnostic with a snippet of at most {@code maxSnippetLength} characters of {@code text} taken
+     * around {@code offset}.
+     *
+     * @param text             The text that failed to parse
+     * @param offset           Character offset of the failure, or {@code -1} if unknown
+     * @param line             Line number of the failure, or {@code -1} if unknown
+     * @param column           Column number of the failure, or {@code -1} if unknown
+     * @param maxSnippetLength Maximum number of characters to retain
+     * @return a new {@code SerializationDiagnostic}
+     */
+    public static SerializationDiagnostic forText(CharSequence text, long offset, int line, int column,
+                                                  int maxSnippetLength) {
+        if (text == null || maxSnippetLength <= 0) {
+            return forLocation(offset, line, column);
+        }
+        int start = windowStart(text.length(), offset, maxSnippetLength);
+        int end = Math.min(text.length(), start + maxSnippetLength);
+        return new SerializationDiagnostic(offset, line, column,
+                truncated(text.subSequence(start, end).toString(), start, end, text.length()));
+    }
+
+    /**
+     * Creates a diagnostic with a snippet of at most {@code maxSnippetLength} bytes of {@code data}, decoded as
+     * UTF-8, taken around {@code offset}.
+     *
+     * @param data             The bytes that failed to parse
+     * @param dataOffset       Offset of the first byte of the serialized value in {@code data}
+     * @param dataLength       Number of bytes of the serialized value in {@code data}
+     * @param offset           Byte offset of the failure relative to {@code dataOffset}, or {@code -1} if unknown
+     * @param line             Line number of the failure, or {@code -1} if unknown
+     * @param column           Column number of the failure, or {@code -1} if unknown
+     * @param maxSnippetLength Maximum number of bytes to retain
+     * @return a new {@code SerializationDiagnostic}
+     */
+    public static SerializationDiagnostic forBytes(byte[] data, int dataOffset, int dataLength, long offset,
+                                                   int line, int column, int maxSnippetLength) {
+        if (data == null || maxSnippetLength <= 0) {
+            return forLocation(offset, line, column);
+        }
+        int start = windowStart(dataLength, offset, maxSnippetLength);
+        int end = Math.min(dataLength, start + maxSnippetLength);
+        String window = new String(data, dataOffset + start, end - start, StandardCharsets.UTF_8);
+        return new SerializationDiagnostic(offset, line, column, truncated(window, start, end, dataLength));
+    }
+
+    private static int windowStart(int length, long offset, int maxSnippetLength) {
+        if (offset < 0 || length <= maxSnippetLength) {
+            return 0;
+        }
+        long start = Math.min(offset - maxSnippetLength / 2, length - maxSnippetLength);
+        return (int) Math.max(0, start);
+    }
+
+    private static String truncated(String window, int start, int end, int length) {
+        return (start > 0 ? ELLIPSIS : "") + window + (end < length ? ELLIPSIS : "");
+    }
+
+    /**
+     * @return the character or byte offset of the failure, or {@code -1} if unknown
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the line number of the failure, or {@code -1} if unknown
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * @return the column number of the failure, or {@code -1} if unknown
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * @return the bounded snippet of input around the failure, or {@code null} if the input was not retained
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    @Override
+    public String toString() {
+        if (rendered == null) {
+            StringBuilder builder = new StringBuilder("{offset=").append(offset)
+                    .append(", line=").append(line)
+                    .append(", column=").append(column);
+            if (snippet != null) {
+                builder.append(", snippet='").append(snippet).append('\'');
+            }
+            rendered = builder.append('}').toString();
+        }
+        return rendered;
+    }
+}
@@ -1,6 +1,7 @@
 package org.stepwiselabs.flair.exceptions;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Exception that occurs when transforming an object to a persistent format.
@@ -9,11 +10,14 @@ public class SerializationException extends AppException {
 
     private static final long serialVersionUID = -2091627819848977662L;
 
+    private final SerializationDiagnostic diagnostic;
+
     /**
      * {@inheritDoc AppException#AppException(String, Object...)}
      */
     public SerializationException(String format, Object... args) {
         super(format, args);
+        this.diagnostic = null;
     }
 
     /**
@@ -21,10 +25,41 @@ public class SerializationException extends AppException {
      */
     public SerializationException(Throwable cause, String format, Object... args) {
         super(cause, format, args);
+        this.diagnostic = null;
+    }
+
+    /**
+     * Constructs a {@code SerializationException} that carries a bounded {@link SerializationDiagnostic} of
+     * where the input failed to parse.  The diagnostic is appended to the message when it is first read.
+     *
+     * @param cause      {@link Throwable Cause} of the {@code Exception}.
+     * @param diagnostic Location and bounded snippet of the failure, may be {@code null}.
+     * @param format     A <a href="../util/Formatter.html#syntax">format string</a>
+     * @param args       Arguments referenced by the format specifiers in the format string.
+     */
+    public SerializationException(Throwable cause, SerializationDiagnostic diagnostic, String format,
+                                  Object... args) {
+        super(cause, format, args);
+        this.diagnostic = diagnostic;
     }
 
     private SerializationException(Throwable cause, Map<String, String> params, String format, Object... args) {
         super(cause, params, format, args);
+        this.diagnostic = null;
+    }
+
+    /**
+     * Returns the location and bounded snippet of the input that failed to parse, when known.
+     *
+     * @return an {@link Optional} {@link SerializationDiagnostic}
+     */
+    public Optional<SerializationDiagnostic> getDiagnostic() {
+        return Optional.ofNullable(diagnostic);
+    }
+
+    @Override
+    public String getMessage() {
+        return diagnostic == null ? super.getMessage() : super.getMessage() + " " + diagnostic;
     }
 
     public static SerializationException create(String format, Object... args) {
@@ -35,7 +70,7 @@ public class SerializationException extends AppException {
         return new SerializationException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
-        return new ExceptionBuilder<SerializationException>((cause, params) -> new SerializationException(cause, params, format, args));
+    public static ExceptionBuilder<SerializationException> build(final String format, final Object... args) {
+        return new ExceptionBuilder<>((cause, params) -> new SerializationException(cause, params, format, args));
     }
 }
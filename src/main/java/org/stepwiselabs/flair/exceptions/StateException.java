@@ -32,8 +32,8 @@ public class StateException extends AppException {
         return new StateException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
-        return new ExceptionBuilder<StateException>((cause, params) -> new StateException(cause, params, format, args));
+    public static ExceptionBuilder<StateException> build(final String format, final Object... args) {
+        return new ExceptionBuilder<>((cause, params) -> new StateException(cause, params, format, args));
     }
 
 }
\ No newline at end of file
@@ -32,7 +32,7 @@ public class ValidationException extends AppException {
         return new ValidationException(t, format, args);
     }
 
-    public static ExceptionBuilder build(final String format, final Object... args) {
-        return new ExceptionBuilder<ValidationException>((cause, params) -> new ValidationException(cause, params, format, args));
+    public static ExceptionBuilder<ValidationException> build(final String format, final Object... args) {
+        return new ExceptionBuilder<>((cause, params) -> new ValidationException(cause, params, format, args));
     }
 }
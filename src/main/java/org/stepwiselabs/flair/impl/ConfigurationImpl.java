@@ -1,14 +1,15 @@
 package org.stepwiselabs.flair.impl;
 
 import org.stepwiselabs.flair.Configuration;
-import org.stepwiselabs.flair.Strings;
-import org.stepwiselabs.flair.exceptions.AppConfigurationException;
 
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+
+import static org.stepwiselabs.flair.impl.ConfigurationValues.*;
 
 public class ConfigurationImpl implements Configuration {
 
@@ -30,15 +31,12 @@ public class ConfigurationImpl implements Configuration {
 
     @Override
     public String getRequiredString(String key) {
-        return store.getString(key).orElseThrow(() -> AppConfigurationException
-                .build("Missing required parameter")
-                .withParam("paramName", key)
-                .build());
+        return store.getString(key).orElseThrow(() -> missingParameter(key));
     }
 
     @Override
     public List<String> getStringList(String key) {
-        return store.getString(key).map(this::toStringList).orElse(Collections.emptyList());
+        return store.getString(key).map(ConfigurationValues::toStringList).orElse(Collections.emptyList());
     }
 
     @Override
@@ -53,10 +51,7 @@ public class ConfigurationImpl implements Configuration {
 
     @Override
     public Integer getRequiredInteger(String key) {
-        return store.getString(key).map(v -> toInteger(key, v)).orElseThrow(() -> AppConfigurationException
-                .build("Missing required parameter")
-                .withParam("paramName", key)
-                .build());
+        return store.getString(key).map(v -> toInteger(key, v)).orElseThrow(() -> missingParameter(key));
     }
 
     @Override
@@ -76,10 +71,7 @@ public class ConfigurationImpl implements Configuration {
 
     @Override
     public Float getRequiredFloat(String key) {
-        return store.getString(key).map(v -> toFloat(key, v)).orElseThrow(() -> AppConfigurationException
-                .build("Missing required parameter")
-                .withParam("paramName", key)
-                .build());
+        return store.getString(key).map(v -> toFloat(key, v)).orElseThrow(() -> missingParameter(key));
     }
 
     @Override
@@ -87,76 +79,111 @@ public class ConfigurationImpl implements Configuration {
         return store.getString(key).map(v -> toFloatList(key, v)).orElse(Collections.emptyList());
     }
 
+    @Override
+    public Optional<Long> getLong(String key) {
+        return store.getString(key).map(v -> toLong(key, v));
+    }
+
+    @Override
+    public long getLong(String key, long defaultValue) {
+        String value = store.getValue(key);
+        return value == null ? defaultValue : toLong(key, value);
+    }
+
+    @Override
+    public long getRequiredLong(String key) {
+        return toLong(key, required(key));
+    }
+
+    @Override
+    public Optional<Double> getDouble(String key) {
+        return store.getString(key).map(v -> toDouble(key, v));
+    }
+
+    @Override
+    public double getDouble(String key, double defaultValue) {
+        String value = store.getValue(key);
+        return value == null ? defaultValue : toDouble(key, value);
+    }
+
+    @Override
+    public double getRequiredDouble(String key) {
+        return toDouble(key, required(key));
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(String key) {
+        return store.getString(key).map(v -> toBoolean(key, v));
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = store.getValue(key);
+        return value == null ? defaultValue : toBoolean(key, value);
+    }
+
+    @Override
+    public boolean getRequiredBoolean(String key) {
+        return toBoolean(key, required(key));
+    }
+
+    @Override
+    public Optional<Duration> getDuration(String key) {
+        return store.getString(key).map(v -> toDuration(key, v));
+    }
+
+    @Override
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = store.getValue(key);
+        return value == null ? defaultValue : toDuration(key, value);
+    }
+
+    @Override
+    public Duration getRequiredDuration(String key) {
+        return toDuration(key, required(key));
+    }
+
+    @Override
+    public Optional<Long> getByteSize(String key) {
+        return store.getString(key).map(v -> toByteSize(key, v));
+    }
+
+    @Override
+    public long getByteSize(String key, long defaultValue) {
+        String value = store.getValue(key);
+        return value == null ? defaultValue : toByteSize(key, value);
+    }
+
+    @Override
+    public long getRequiredByteSize(String key) {
+        return toByteSize(key, required(key));
+    }
+
     @Override
     public Optional<Configuration> getSubConfiguration(String prefix) {
         return store.getConfig(prefix).map(store -> new ConfigurationImpl(store));
     }
 
-    private List<String> toStringList(String value) {
-        if (Strings.isBlank(value)) {
-            return Collections.emptyList();
-        }
-        return Arrays.stream(value.split(","))
-                .filter(Strings::notBlank)
-                .map(String::trim)
-                .collect(Collectors.toList());
+    @Override
+    public Set<String> keys() {
+        return store.keys();
     }
 
-    private List<Integer> toIntegerList(String key, String value) {
-        if (Strings.isBlank(value)) {
-            return Collections.emptyList();
-        }
-        return Arrays.stream(value.split(","))
-                .filter(Strings::notBlank)
-                .map(v -> toInteger(key, v.trim()))
-                .collect(Collectors.toList());
+    @Override
+    public Set<String> keys(String prefix) {
+        return store.keys(prefix);
     }
 
-
-    private List<Float> toFloatList(String key, String value) {
-        if (Strings.isBlank(value)) {
-            return Collections.emptyList();
-        }
-        return Arrays.stream(value.split(","))
-                .filter(Strings::notBlank)
-                .map(v -> toFloat(key, v.trim()))
-                .collect(Collectors.toList());
-    }
-
-    private Integer toInteger(String key, String value) {
-        if (Strings.isBlank(value)) {
-            throw AppConfigurationException.build("Blank parameter provided")
-                    .withParam("paramName", key)
-                    .withParam("paramValue", value)
-                    .build();
-        }
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            throw AppConfigurationException.build("Invalid integer parameter provided")
-                    .withCause(e)
-                    .withParam("paramName", key)
-                    .withParam("paramValue", value)
-                    .build();
-        }
+    @Override
+    public Map<String, String> asMap() {
+        return store.asMap();
     }
 
-    private Float toFloat(String key, String value) {
-        if (Strings.isBlank(value)) {
-            throw AppConfigurationException.build("Blank parameter provided")
-                    .withParam("paramName", key)
-                    .withParam("paramValue", value)
-                    .build();
-        }
-        try {
-            return Float.parseFloat(value);
-        } catch (NumberFormatException e) {
-            throw AppConfigurationException.build("Invalid float parameter provided")
-                    .withCause(e)
-                    .withParam("paramName", key)
-                    .withParam("paramValue", value)
-                    .build();
+    private String required(String key) {
+        String value = store.getValue(key);
+        if (value == null) {
+            throw missingParameter(key);
         }
+        return value;
     }
-
 }
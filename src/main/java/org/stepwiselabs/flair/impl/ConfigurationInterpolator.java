@@ -0,0 +1,153 @@
+package org.stepwiselabs.flair.impl;
+
+import org.stepwiselabs.flair.exceptions.AppConfigurationException;
+import org.stepwiselabs.flair.exceptions.AppException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Expands {@code ${key}} and {@code ${env:NAME}} placeholders in configuration values.  Placeholders are resolved
+ * once, when a {@link ConfigurationStore} is created, so reads return the already expanded value.  A placeholder
+ * that refers to a missing key or environment variable, or a chain of placeholders that refers back to itself,
+ * raises an {@code AppConfigurationException}.  A literal {@code "${"} is written as {@code "$${"}, and a
+ * {@code "${"} without a closing {@code '}'} is left as is.
+ * <p>
+ * Values of literal keys, such as those taken from the environment or system properties, are never expanded,
+ * although placeholders in other values may refer to them.
+ */
+final class ConfigurationInterpolator {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final char ESCAPE = '$';
+    private static final char PLACEHOLDER_END = '}';
+    private static final String ENV_PREFIX = "env:";
+
+    private final Map<String, String> entries;
+    private final Set<String> literalKeys;
+    private final Function<String, String> environment;
+    private final Map<String, String> resolved;
+    private final LinkedHashSet<String> resolving;
+
+    private ConfigurationInterpolator(Map<String, String> entries, Set<String> literalKeys,
+                                      Function<String, String> environment) {
+        this.entries = entries;
+        this.literalKeys = literalKeys;
+        this.environment = environment;
+        this.resolved = new HashMap<>();
+        this.resolving = new LinkedHashSet<>();
+    }
+
+    /**
+     * @return {@code entries} itself if no value holds a placeholder, otherwise a new map of expanded values
+     */
+    static Map<String, String> interpolate(Map<String, String> entries) {
+        return interpolate(entries, Collections.emptySet());
+    }
+
+    /**
+     * @param literalKeys - Keys whose values are taken as is
+     * @return {@code entries} itself if no other value holds a placeholder, otherwise a new map of expanded values
+     */
+    static Map<String, String> interpolate(Map<String, String> entries, Set<String> literalKeys) {
+        return interpolate(entries, literalKeys, System::getenv);
+    }
+
+    static Map<String, String> interpolate(Map<String, String> entries, Set<String> literalKeys,
+                                           Function<String, String> environment) {
+        boolean hasPlaceholders = false;
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            String value = entry.getValue();
+            if (value != null && value.contains(PLACEHOLDER_START) && !literalKeys.contains(entry.getKey())) {
+                hasPlaceholders = true;
+                break;
+            }
+        }
+        if (!hasPlaceholders) {
+            return entries;
+        }
+
+        ConfigurationInterpolator interpolator = new ConfigurationInterpolator(entries, literalKeys, environment);
+        for (String key : entries.keySet()) {
+            interpolator.resolve(key);
+        }
+        return interpolator.resolved;
+    }
+
+    private String resolve(String key) {
+        String value = resolved.get(key);
+        if (value != null || resolved.containsKey(key)) {
+            return value;
+        }
+        if (!resolving.add(key)) {
+            throw circularReference(key);
+        }
+        value = literalKeys.contains(key) ? entries.get(key) : expand(key, entries.get(key));
+        resolving.remove(key);
+        resolved.put(key, value);
+        return value;
+    }
+
+    private String expand(String key, String value) {
+        int start = value == null ? -1 : value.indexOf(PLACEHOLDER_START);
+        if (start < 0) {
+            return value;
+        }
+
+        StringBuilder expanded = new StringBuilder(value.length());
+        int position = 0;
+        while (start >= 0) {
+            if (start > position && value.charAt(start - 1) == ESCAPE) {
+                // "$${" is a literal "${"
+                expanded.append(value, position, start - 1).append(PLACEHOLDER_START);
+                position = start + PLACEHOLDER_START.length();
+                start = value.indexOf(PLACEHOLDER_START, position);
+                continue;
+            }
+            int end = value.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+            if (end < 0) {
+                break;
+            }
+            expanded.append(value, position, start)
+                    .append(lookup(key, value.substring(start + PLACEHOLDER_START.length(), end)));
+            position = end + 1;
+            start = value.indexOf(PLACEHOLDER_START, position);
+        }
+        return expanded.append(value, position, value.length()).toString();
+    }
+
+    private String lookup(String key, String name) {
+        String value = name.startsWith(ENV_PREFIX) ?
+                environment.apply(name.substring(ENV_PREFIX.length())) :
+                entries.containsKey(name) ? resolve(name) : null;
+        if (value == null) {
+            throw AppConfigurationException.build("Unresolved placeholder in configuration value")
+                    .withParam("paramName", key)
+                    .withParam("placeholder", PLACEHOLDER_START + name + PLACEHOLDER_END)
+                    .build();
+        }
+        return value;
+    }
+
+    private AppException circularReference(String key) {
+        List<String> cycle = new ArrayList<>();
+        boolean inCycle = false;
+        for (String resolvingKey : resolving) {
+            inCycle |= resolvingKey.equals(key);
+            if (inCycle) {
+                cycle.add(resolvingKey);
+            }
+        }
+        cycle.add(key);
+        return AppConfigurationException.build("Circular placeholder reference in configuration")
+                .withParam("paramName", key)
+                .withParam("cycle", String.join(" -> ", cycle))
+                .build();
+    }
+}
@@ -0,0 +1,336 @@
+package org.stepwiselabs.flair.impl;
+
+import org.stepwiselabs.flair.Configuration;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.stepwiselabs.flair.impl.ConfigurationValues.*;
+
+/**
+ * An immutable, compiled {@link Configuration}.  The entries of a {@link ConfigurationStore} are copied once at
+ * construction and each value is parsed into a given type at most once, the first time it is read as that type.
+ * Lists are held as immutable lists.  Subsequent reads are a single map access that returns the already parsed
+ * value without allocating, which makes it suitable for configuration that is read per request.
+ * <p>
+ * Invalid values are not cached, so reading one keeps failing with the same {@code AppConfigurationException}
+ * that {@link ConfigurationImpl} raises.
+ */
+public class ConfigurationSnapshot implements Configuration {
+
+    private final ConfigurationStore store;
+    private final Map<String, Value> values;
+    private final ConcurrentMap<String, Optional<Configuration>> subConfigurations;
+
+    public ConfigurationSnapshot(ConfigurationStore store) {
+        this.store = store;
+        this.values = new HashMap<>();
+        this.subConfigurations = new ConcurrentHashMap<>();
+
+        store.entries().forEach((key, value) -> values.put(key, new Value(value)));
+    }
+
+    @Override
+    public Optional<String> getString(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.string;
+    }
+
+    @Override
+    public String getString(String key, String defaultValue) {
+        Value value = values.get(key);
+        return value == null ? defaultValue : value.raw;
+    }
+
+    @Override
+    public String getRequiredString(String key) {
+        return required(key).raw;
+    }
+
+    @Override
+    public List<String> getStringList(String key) {
+        Value value = values.get(key);
+        return value == null ? Collections.emptyList() : value.stringList();
+    }
+
+    @Override
+    public Optional<Integer> getInteger(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.integer(key);
+    }
+
+    @Override
+    public Integer getInteger(String key, int defaultValue) {
+        Value value = values.get(key);
+        return value == null ? Integer.valueOf(defaultValue) : value.integer(key).get();
+    }
+
+    @Override
+    public Integer getRequiredInteger(String key) {
+        return required(key).integer(key).get();
+    }
+
+    @Override
+    public List<Integer> getIntegerList(String key) {
+        Value value = values.get(key);
+        return value == null ? Collections.emptyList() : value.integerList(key);
+    }
+
+    @Override
+    public Optional<Float> getFloat(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.floatValue(key);
+    }
+
+    @Override
+    public Float getFloat(String key, float defaultValue) {
+        Value value = values.get(key);
+        return value == null ? Float.valueOf(defaultValue) : value.floatValue(key).get();
+    }
+
+    @Override
+    public Float getRequiredFloat(String key) {
+        return required(key).floatValue(key).get();
+    }
+
+    @Override
+    public List<Float> getFloatList(String key) {
+        Value value = values.get(key);
+        return value == null ? Collections.emptyList() : value.floatList(key);
+    }
+
+    @Override
+    public Optional<Long> getLong(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.longValue(key);
+    }
+
+    @Override
+    public long getLong(String key, long defaultValue) {
+        Value value = values.get(key);
+        return value == null ? defaultValue : value.longValue(key).get();
+    }
+
+    @Override
+    public long getRequiredLong(String key) {
+        return required(key).longValue(key).get();
+    }
+
+    @Override
+    public Optional<Double> getDouble(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.doubleValue(key);
+    }
+
+    @Override
+    public double getDouble(String key, double defaultValue) {
+        Value value = values.get(key);
+        return value == null ? defaultValue : value.doubleValue(key).get();
+    }
+
+    @Override
+    public double getRequiredDouble(String key) {
+        return required(key).doubleValue(key).get();
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.booleanValue(key);
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Value value = values.get(key);
+        return value == null ? defaultValue : value.booleanValue(key).get();
+    }
+
+    @Override
+    public boolean getRequiredBoolean(String key) {
+        return required(key).booleanValue(key).get();
+    }
+
+    @Override
+    public Optional<Duration> getDuration(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.duration(key);
+    }
+
+    @Override
+    public Duration getDuration(String key, Duration defaultValue) {
+        Value value = values.get(key);
+        return value == null ? defaultValue : value.duration(key).get();
+    }
+
+    @Override
+    public Duration getRequiredDuration(String key) {
+        return required(key).duration(key).get();
+    }
+
+    @Override
+    public Optional<Long> getByteSize(String key) {
+        Value value = values.get(key);
+        return value == null ? Optional.empty() : value.byteSize(key);
+    }
+
+    @Override
+    public long getByteSize(String key, long defaultValue) {
+        Value value = values.get(key);
+        return value == null ? defaultValue : value.byteSize(key).get();
+    }
+
+    @Override
+    public long getRequiredByteSize(String key) {
+        return required(key).byteSize(key).get();
+    }
+
+    @Override
+    public Optional<Configuration> getSubConfiguration(String prefix) {
+        Optional<Configuration> subConfiguration = subConfigurations.get(prefix);
+        if (subConfiguration != null) {
+            return subConfiguration;
+        }
+        // only prefixes that exist are cached, so probing arbitrary prefixes cannot grow the cache without bound
+        Optional<ConfigurationStore> subStore = store.getConfig(prefix);
+        if (!subStore.isPresent()) {
+            return Optional.empty();
+        }
+        return subConfigurations.computeIfAbsent(prefix, p -> Optional.of(new ConfigurationSnapshot(subStore.get())));
+    }
+
+    @Override
+    public Set<String> keys() {
+        return store.keys();
+    }
+
+    @Override
+    public Set<String> keys(String prefix) {
+        return store.keys(prefix);
+    }
+
+    @Override
+    public Map<String, String> asMap() {
+        return store.asMap();
+    }
+
+    private Value required(String key) {
+        Value value = values.get(key);
+        if (value == null) {
+            throw missingParameter(key);
+        }
+        return value;
+    }
+
+    /**
+     * A raw value along with its lazily parsed typed forms.  The typed forms are immutable, so racing threads
+     * can at worst parse the same value twice and publish equal results.
+     */
+    private static final class Value {
+
+        private final String raw;
+        private final Optional<String> string;
+
+        private List<String> stringList;
+        private Optional<Integer> integer;
+        private List<Integer> integerList;
+        private Optional<Float> floatValue;
+        private List<Float> floatList;
+        private Optional<Long> longValue;
+        private Optional<Double> doubleValue;
+        private Optional<Boolean> booleanValue;
+        private Optional<Duration> duration;
+        private Optional<Long> byteSize;
+
+        Value(String raw) {
+            this.raw = raw;
+            this.string = Optional.of(raw);
+        }
+
+        List<String> stringList() {
+            List<String> list = stringList;
+            if (list == null) {
+                list = stringList = Collections.unmodifiableList(toStringList(raw));
+            }
+            return list;
+        }
+
+        Optional<Integer> integer(String key) {
+            Optional<Integer> parsed = integer;
+            if (parsed == null) {
+                parsed = integer = Optional.of(toInteger(key, raw));
+            }
+            return parsed;
+        }
+
+        List<Integer> integerList(String key) {
+            List<Integer> list = integerList;
+            if (list == null) {
+                list = integerList = Collections.unmodifiableList(toIntegerList(key, raw));
+            }
+            return list;
+        }
+
+        Optional<Float> floatValue(String key) {
+            Optional<Float> parsed = floatValue;
+            if (parsed == null) {
+                parsed = floatValue = Optional.of(toFloat(key, raw));
+            }
+            return parsed;
+        }
+
+        List<Float> floatList(String key) {
+            List<Float> list = floatList;
+            if (list == null) {
+                list = floatList = Collections.unmodifiableList(toFloatList(key, raw));
+            }
+            return list;
+        }
+
+        Optional<Long> longValue(String key) {
+            Optional<Long> parsed = longValue;
+            if (parsed == null) {
+                parsed = longValue = Optional.of(toLong(key, raw));
+            }
+            return parsed;
+        }
+
+        Optional<Double> doubleValue(String key) {
+            Optional<Double> parsed = doubleValue;
+            if (parsed == null) {
+                parsed = doubleValue = Optional.of(toDouble(key, raw));
+            }
+            return parsed;
+        }
+
+        Optional<Boolean> booleanValue(String key) {
+            Optional<Boolean> parsed = booleanValue;
+            if (parsed == null) {
+                parsed = booleanValue = Optional.of(toBoolean(key, raw));
+            }
+            return parsed;
+        }
+
+        Optional<Duration> duration(String key) {
+            Optional<Duration> parsed = duration;
+            if (parsed == null) {
+                parsed = duration = Optional.of(toDuration(key, raw));
+            }
+            return parsed;
+        }
+
+        Optional<Long> byteSize(String key) {
+            Optional<Long> parsed = byteSize;
+            if (parsed == null) {
+                parsed = byteSize = Optional.of(toByteSize(key, raw));
+            }
+            return parsed;
+        }
+    }
+}
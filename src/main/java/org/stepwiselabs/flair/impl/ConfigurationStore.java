@@ -2,35 +2,160 @@ package org.stepwiselabs.flair.impl;
 
 import org.stepwiselabs.flair.Strings;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 
+/**
+ * Key/value access to a set of configuration entries, optionally scoped to a dotted key prefix.  The entries are
+ * copied into an immutable index once when the root store is created, so reads never lock, sub-stores share the
+ * index and only hold the range of keys under their prefix, and later changes to the source {@link Properties} or
+ * {@link Map} are not visible.  {@code ${key}} and {@code ${env:NAME}} placeholders in the values are expanded at
+ * the same time, and {@code $${} stands for a literal {@code ${}.
+ */
 public class ConfigurationStore {
 
     private final String prefix;
-    private final Properties props;
+    private final KeyIndex index;
+    private final int from;
+    private final int to;
+    private final int keyOffset;
+    private volatile Set<String> keys;
+    private volatile Map<String, String> map;
 
     public ConfigurationStore(Properties props) {
         this("", props);
     }
 
     public ConfigurationStore(String prefix, Properties props) {
+        this(prefix, new KeyIndex(ConfigurationInterpolator.interpolate(copyOf(props))));
+    }
+
+    public ConfigurationStore(Map<String, String> entries) {
+        this(entries, Collections.emptySet());
+    }
+
+    /**
+     * @param literalKeys - Keys whose values are stored as is, without expanding placeholders
+     */
+    ConfigurationStore(Map<String, String> entries, Set<String> literalKeys) {
+        this("", new KeyIndex(ConfigurationInterpolator.interpolate(entries, literalKeys)));
+    }
+
+    private ConfigurationStore(String prefix, KeyIndex index) {
+        this(prefix, index, Strings.isBlank(prefix) ?
+                new int[]{0, index.size()} :
+                index.prefixRange(0, index.size(), prefix + "."));
+    }
+
+    private ConfigurationStore(String prefix, KeyIndex index, int[] range) {
         this.prefix = prefix;
-        this.props = props;
+        this.index = index;
+        this.from = range[0];
+        this.to = range[1];
+        this.keyOffset = Strings.isBlank(prefix) ? 0 : prefix.length() + 1;
     }
 
     public Optional<String> getString(String key) {
+        return Optional.ofNullable(getValue(key));
+    }
+
+    /**
+     * @return the raw value of {@code key}, or {@code null} if it is not set
+     */
+    String getValue(String key) {
         if (Strings.isBlank(key)) {
-            return Optional.empty();
+            return null;
         }
-        return Optional.ofNullable(props.getProperty(getPrefixedKey(key)));
+        if (keyOffset == 0) {
+            return index.get(key);
+        }
+        int position = index.indexOf(from, to, keyOffset, key);
+        return position < 0 ? null : index.value(position);
     }
 
     public Optional<ConfigurationStore> getConfig(String prefix) {
+        if (Strings.isBlank(prefix)) {
+            return from < to ? Optional.of(this) : Optional.empty();
+        }
 
         String newPrefix = getPrefixedKey(prefix);
-        boolean hasKeys = props.keySet().stream().anyMatch(k -> ((String) k).startsWith(newPrefix));
-        return hasKeys ? Optional.of(new ConfigurationStore(newPrefix, props)) : Optional.empty();
+        int[] range = index.prefixRange(from, to, newPrefix + ".");
+        return range[0] < range[1] ?
+                Optional.of(new ConfigurationStore(newPrefix, index, range)) :
+                Optional.empty();
+    }
+
+    /**
+     * @return an immutable set of the keys visible through this store, relative to its prefix and in key order
+     */
+    public Set<String> keys() {
+        Set<String> result = keys;
+        if (result == null) {
+            keys = result = keysBetween(from, to);
+        }
+        return result;
+    }
+
+    /**
+     * @param prefix - A dotted key prefix, relative to this store's prefix
+     * @return an immutable set of the keys under {@code prefix}, relative to this store's prefix and in key order
+     */
+    public Set<String> keys(String prefix) {
+        if (Strings.isBlank(prefix)) {
+            return keys();
+        }
+        int[] range = index.prefixRange(from, to, getPrefixedKey(prefix) + ".");
+        return keysBetween(range[0], range[1]);
+    }
+
+    /**
+     * @return an immutable map of the entries visible through this store, keyed relative to its prefix and in key
+     * order
+     */
+    public Map<String, String> asMap() {
+        Map<String, String> result = map;
+        if (result == null) {
+            map = result = Collections.unmodifiableMap(entries());
+        }
+        return result;
+    }
+
+    private Set<String> keysBetween(int start, int end) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = start; i < end; i++) {
+            result.add(index.key(i).substring(keyOffset));
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Copies the entries visible through this store, keyed relative to its prefix.
+     *
+     * @return a new {@link Map} of relative key to raw value, in key order
+     */
+    Map<String, String> entries() {
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            entries.put(index.key(i).substring(keyOffset), index.value(i));
+        }
+        return entries;
+    }
+
+    /**
+     * @return a new {@link Map} of the string keys and values in {@code props}, including its defaults
+     */
+    static Map<String, String> copyOf(Properties props) {
+        Map<String, String> entries = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            entries.put(key, props.getProperty(key));
+        }
+        return entries;
     }
 
     private String getPrefixedKey(String suffix) {
@@ -0,0 +1,240 @@
+package org.stepwiselabs.flair.impl;
+
+import org.stepwiselabs.flair.Configuration;
+import org.stepwiselabs.flair.Strings;
+import org.stepwiselabs.flair.exceptions.AppConfigurationException;
+import org.stepwiselabs.flair.exceptions.AppException;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Parsing of raw configuration values into their typed form, shared by the {@link Configuration} implementations.
+ * Surrounding whitespace is ignored by every parser.  The parsers behind {@link Configuration}'s default getters are
+ * public so the interface can reach them; the rest are package-private.
+ */
+public final class ConfigurationValues {
+
+    private ConfigurationValues() {
+        throw new InstantiationError();
+    }
+
+    static AppException missingParameter(String key) {
+        return AppConfigurationException
+                .build("Missing required parameter")
+                .withParam("paramName", key)
+                .build();
+    }
+
+    static List<String> toStringList(String value) {
+        if (Strings.isBlank(value)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.split(","))
+                .filter(Strings::notBlank)
+                .map(String::trim)
+                .collect(Collectors.toList());
+    }
+
+    static List<Integer> toIntegerList(String key, String value) {
+        if (Strings.isBlank(value)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.split(","))
+                .filter(Strings::notBlank)
+                .map(v -> toInteger(key, v.trim()))
+                .collect(Collectors.toList());
+    }
+
+    static List<Float> toFloatList(String key, String value) {
+        if (Strings.isBlank(value)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.split(","))
+                .filter(Strings::notBlank)
+                .map(v -> toFloat(key, v.trim()))
+                .collect(Collectors.toList());
+    }
+
+    static Integer toInteger(String key, String value) {
+        if (Strings.isBlank(value)) {
+            throw blankParameter(key, value);
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw AppConfigurationException.build("Invalid integer parameter provided")
+                    .withCause(e)
+                    .withParam("paramName", key)
+                    .withParam("paramValue", value)
+                    .build();
+        }
+    }
+
+    static Float toFloat(String key, String value) {
+        if (Strings.isBlank(value)) {
+            throw blankParameter(key, value);
+        }
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            throw AppConfigurationException.build("Invalid float parameter provided")
+                    .withCause(e)
+                    .withParam("paramName", key)
+                    .withParam("paramValue", value)
+                    .build();
+        }
+    }
+
+    public static long toLong(String key, String value) {
+        if (Strings.isBlank(value)) {
+            throw blankParameter(key, value);
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw invalidParameter("Invalid long parameter provided", key, value, e);
+        }
+    }
+
+    public static double toDouble(String key, String value) {
+        if (Strings.isBlank(value)) {
+            throw blankParameter(key, value);
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw invalidParameter("Invalid double parameter provided", key, value, e);
+        }
+    }
+
+    public static boolean toBoolean(String key, String value) {
+        if (Strings.isBlank(value)) {
+            throw blankParameter(key, value);
+        }
+        String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(trimmed)) {
+            return false;
+        }
+        throw invalidParameter("Invalid boolean parameter provided", key, value, null);
+    }
+
+    public static Duration toDuration(String key, String value) {
+        if (Strings.isBlank(value)) {
+            throw blankParameter(key, value);
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.startsWith("P") || trimmed.startsWith("p")) {
+                return Duration.parse(trimmed);
+            }
+            int unitStart = unitStart(trimmed);
+            long amount = Long.parseLong(trimmed.substring(0, unitStart).trim());
+            ChronoUnit unit = durationUnit(trimmed.substring(unitStart).trim());
+            if (unit != null) {
+                return Duration.of(amount, unit);
+            }
+        } catch (NumberFormatException | DateTimeParseException | ArithmeticException e) {
+            throw invalidParameter("Invalid duration parameter provided", key, value, e);
+        }
+        throw invalidParameter("Invalid duration parameter provided", key, value, null);
+    }
+
+    public static long toByteSize(String key, String value) {
+        if (Strings.isBlank(value)) {
+            throw blankParameter(key, value);
+        }
+        String trimmed = value.trim();
+        try {
+            int unitStart = unitStart(trimmed);
+            long amount = Long.parseLong(trimmed.substring(0, unitStart).trim());
+            int shift = byteSizeShift(trimmed.substring(unitStart).trim().toUpperCase(Locale.ROOT));
+            if (shift >= 0) {
+                return Math.multiplyExact(amount, 1L << shift);
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw invalidParameter("Invalid byte size parameter provided", key, value, e);
+        }
+        throw invalidParameter("Invalid byte size parameter provided", key, value, null);
+    }
+
+    private static int unitStart(String value) {
+        int end = value.length();
+        while (end > 0 && Character.isLetter(value.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static ChronoUnit durationUnit(String unit) {
+        switch (unit) {
+            case "":
+            case "ms":
+                return ChronoUnit.MILLIS;
+            case "ns":
+                return ChronoUnit.NANOS;
+            case "us":
+                return ChronoUnit.MICROS;
+            case "s":
+                return ChronoUnit.SECONDS;
+            case "m":
+                return ChronoUnit.MINUTES;
+            case "h":
+                return ChronoUnit.HOURS;
+            case "d":
+                return ChronoUnit.DAYS;
+            default:
+                return null;
+        }
+    }
+
+    private static int byteSizeShift(String unit) {
+        switch (unit) {
+            case "":
+            case "B":
+                return 0;
+            case "K":
+            case "KB":
+            case "KIB":
+                return 10;
+            case "M":
+            case "MB":
+            case "MIB":
+                return 20;
+            case "G":
+            case "GB":
+            case "GIB":
+                return 30;
+            case "T":
+            case "TB":
+            case "TIB":
+                return 40;
+            default:
+                return -1;
+        }
+    }
+
+    private static AppException invalidParameter(String message, String key, String value, Exception cause) {
+        return AppConfigurationException.build(message)
+                .withCause(cause)
+                .withParam("paramName", key)
+                .withParam("paramValue", value)
+                .build();
+    }
+
+    private static AppException blankParameter(String key, String value) {
+        return AppConfigurationException.build("Blank parameter provided")
+                .withParam("paramName", key)
+                .withParam("paramValue", value)
+                .build();
+    }
+}
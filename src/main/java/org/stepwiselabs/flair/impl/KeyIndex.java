@@ -0,0 +1,116 @@
+package org.stepwiselabs.flair.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, sorted index over configuration entries.  All keys that share a prefix occupy a contiguous range
+ * of the index, so prefix existence and sub-range lookups are binary searches, and a key can be found relative to
+ * a prefix by comparing its suffix in place rather than concatenating the prefix onto it.  Absolute keys are
+ * looked up through a hash table.
+ * <p>
+ * The entries are copied when the index is built and never modified afterwards, so reads need no locking.
+ */
+final class KeyIndex {
+
+    private final String[] keys;
+    private final String[] values;
+    private final Map<String, String> lookup;
+
+    KeyIndex(Map<String, String> entries) {
+        this.keys = entries.keySet().toArray(new String[0]);
+        Arrays.sort(this.keys);
+        this.values = new String[keys.length];
+        this.lookup = new HashMap<>(entries);
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = lookup.get(keys[i]);
+        }
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    String key(int index) {
+        return keys[index];
+    }
+
+    String value(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the value of the absolute {@code key}, or {@code null} if there is none
+     */
+    String get(String key) {
+        return lookup.get(key);
+    }
+
+    /**
+     * Returns the index of the first key in {@code [from, to)} that is greater than or equal to {@code target},
+     * or {@code to} if there is none.
+     */
+    int lowerBound(int from, int to, String target) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(target) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the range {@code [from, to)} of keys in {@code [from, to)} that start with {@code keyPrefix}.  The
+     * prefix must end with the {@code '.'} separator.
+     *
+     * @return a two element array of the range start and end, equal when no key matches
+     */
+    int[] prefixRange(int from, int to, String keyPrefix) {
+        int start = lowerBound(from, to, keyPrefix);
+        // '/' is the character after '.', so this is the first key past every key starting with the prefix
+        String end = keyPrefix.substring(0, keyPrefix.length() - 1) + '/';
+        return new int[]{start, lowerBound(start, to, end)};
+    }
+
+    /**
+     * Finds the key in {@code [from, to)} whose suffix starting at {@code offset} equals {@code relativeKey}.  All
+     * keys in the range must be at least {@code offset} characters long.
+     *
+     * @return the index of the key, or {@code -1} if there is none
+     */
+    int indexOf(int from, int to, int offset, String relativeKey) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareSuffix(keys[mid], offset, relativeKey);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int compareSuffix(String key, int offset, String relativeKey) {
+        int length = key.length() - offset;
+        int limit = Math.min(length, relativeKey.length());
+        for (int i = 0; i < limit; i++) {
+            char c1 = key.charAt(offset + i);
+            char c2 = relativeKey.charAt(i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return length - relativeKey.length();
+    }
+}
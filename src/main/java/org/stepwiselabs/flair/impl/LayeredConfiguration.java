@@ -0,0 +1,149 @@
+package org.stepwiselabs.flair.impl;
+
+import org.stepwiselabs.flair.ResourceUtils;
+import org.stepwiselabs.flair.exceptions.ResourceAccessException;
+import org.stepwiselabs.flair.resource.ReadableResource;
+import org.stepwiselabs.flair.resource.ReadableResourceLoader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * A {@link ConfigurationSnapshot} merged from ordered layers, such as defaults, per-environment files, system
+ * properties and environment variables.  Each layer overrides the keys of the layers added before it.  The layers
+ * are flattened once when the configuration is built, so a read is a single lookup no matter how many layers
+ * there are.
+ * <pre>
+ *     Configuration config = LayeredConfiguration.builder()
+ *             .withResource("classpath:defaults.properties")
+ *             .withOptionalResource("/etc/app/app.properties")
+ *             .withSystemProperties()
+ *             .withEnvironment("APP_")
+ *             .build();
+ * </pre>
+ */
+public class LayeredConfiguration extends ConfigurationSnapshot {
+
+    private final Map<String, String> sources;
+
+    private LayeredConfiguration(ConfigurationStore store, Map<String, String> sources) {
+        super(store);
+        this.sources = sources;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param key - The configuration key
+     * @return the name of the layer that supplied the value of {@code key}, or empty if it is not set
+     */
+    public Optional<String> getSource(String key) {
+        return Optional.ofNullable(sources.get(key));
+    }
+
+    public static final class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Map<String, String>> layers = new ArrayList<>();
+        private final List<Boolean> literal = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder withMap(String name, Map<String, String> entries) {
+            return addLayer(name, new HashMap<>(entries), false);
+        }
+
+        public Builder withProperties(String name, Properties props) {
+            return addLayer(name, ConfigurationStore.copyOf(props), false);
+        }
+
+        public Builder withResource(String location) {
+            return withResource(ReadableResourceLoader.load(location));
+        }
+
+        public Builder withResource(ReadableResource resource) {
+            return withProperties(resource.getLocation(), ResourceUtils.loadProperties(resource));
+        }
+
+        /**
+         * Adds the properties resource at {@code location} if it exists, otherwise adds nothing.
+         */
+        public Builder withOptionalResource(String location) {
+            ReadableResource resource;
+            try {
+                resource = ReadableResourceLoader.load(location);
+            } catch (ResourceAccessException e) {
+                return this;
+            }
+            return withResource(resource);
+        }
+
+        /**
+         * Adds the system properties.  Their values are taken as is, without expanding placeholders.
+         */
+        public Builder withSystemProperties() {
+            return addLayer("system properties", ConfigurationStore.copyOf(System.getProperties()), true);
+        }
+
+        /**
+         * Adds every environment variable, keyed by its name as is.  Their values are taken as is, without
+         * expanding placeholders.
+         */
+        public Builder withEnvironment() {
+            return addLayer("environment", new HashMap<>(System.getenv()), true);
+        }
+
+        /**
+         * Adds the environment variables whose names start with {@code prefix}.  Each is keyed by the rest of its
+         * name, lower cased with {@code '_'} replaced by {@code '.'}, so {@code APP_POOL_SIZE} with the prefix
+         * {@code APP_} becomes {@code pool.size}.
+         */
+        public Builder withEnvironment(String prefix) {
+            Map<String, String> entries = new HashMap<>();
+            System.getenv().forEach((name, value) -> {
+                if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                    String key = name.substring(prefix.length()).toLowerCase(Locale.ROOT).replace('_', '.');
+                    entries.put(key, value);
+                }
+            });
+            return addLayer("environment " + prefix, entries, true);
+        }
+
+        public LayeredConfiguration build() {
+            Map<String, String> entries = new HashMap<>();
+            Map<String, String> sources = new HashMap<>();
+            Set<String> literalKeys = new HashSet<>();
+            for (int i = 0; i < layers.size(); i++) {
+                String name = names.get(i);
+                boolean literalLayer = literal.get(i);
+                layers.get(i).forEach((key, value) -> {
+                    entries.put(key, value);
+                    sources.put(key, name);
+                    if (literalLayer) {
+                        literalKeys.add(key);
+                    } else {
+                        literalKeys.remove(key);
+                    }
+                });
+            }
+            return new LayeredConfiguration(new ConfigurationStore(entries, literalKeys), sources);
+        }
+
+        private Builder addLayer(String name, Map<String, String> entries, boolean literalLayer) {
+            names.add(name);
+            layers.add(entries);
+            literal.add(literalLayer);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package org.stepwiselabs.flair.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.stepwiselabs.flair.Configuration;
+import org.stepwiselabs.flair.Preconditions;
+import org.stepwiselabs.flair.ResourceUtils;
+import org.stepwiselabs.flair.exceptions.ResourceAccessException;
+import org.stepwiselabs.flair.resource.ReadableResource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Configuration} backed by a properties file that is re-read whenever the file changes.
+ * <p>
+ * The file's directory is watched with a {@link WatchService} on a daemon thread.  Tools that write the file in
+ * place fire several events while writing, so a reload waits until the file has had no events and kept the same
+ * size and modification time for a quiet period.  Each reload parses the file into a new
+ * {@link ConfigurationSnapshot} that is swapped in atomically.  Readers never block and always see one
+ * complete snapshot.  If a reload fails, the previous snapshot is kept.  Listeners are notified on the watcher thread
+ * with the keys that were added, removed or changed.
+ * <p>
+ * Sub-configurations are taken from the snapshot that is current when they are requested and are not reloaded.
+ */
+public class ReloadingConfiguration implements Configuration, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReloadingConfiguration.class);
+
+    public static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(250);
+
+    /**
+     * Callback for changes to a {@link ReloadingConfiguration}.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param changedKeys   The keys that were added, removed or whose values changed
+         * @param configuration The configuration after the change
+         */
+        void configurationChanged(Set<String> changedKeys, Configuration configuration);
+    }
+
+    private final ReadableResource resource;
+    private final Path path;
+    private final Duration quietPeriod;
+    private final AtomicReference<State> current;
+    private final List<Listener> listeners;
+    private final WatchService watchService;
+    private final Thread watcher;
+
+    public ReloadingConfiguration(ReadableResource resource) {
+        this(resource, DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * @param resource    - The file system properties resource
+     * @param quietPeriod - How long the file must go unchanged after an event before it is reloaded
+     */
+    public ReloadingConfiguration(ReadableResource resource, Duration quietPeriod) {
+        Preconditions.checkArg(!quietPeriod.isNegative(), "quiet period cannot be negative, was %s", quietPeriod);
+        this.resource = resource;
+        this.quietPeriod = quietPeriod;
+        this.path = resource.getPath().orElseThrow(() ->
+                new IllegalArgumentException("a file system resource is required: " + resource.getLocation()));
+        // watch before the first load so a change made while it is read is not missed
+        this.watchService = watch(path);
+        try {
+            this.current = new AtomicReference<>(load());
+        } catch (RuntimeException e) {
+            closeWatchService();
+            throw e;
+        }
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.watcher = new Thread(this::watchLoop, "flair-configuration-watcher-" + path.getFileName());
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Re-reads the file now, swaps in the new snapshot and, if any values changed, notifies the listeners.
+     *
+     * @throws ResourceAccessException if the file cannot be read
+     */
+    public synchronized void reload() {
+        State next = load();
+        State previous = current.getAndSet(next);
+        Set<String> changedKeys = changedKeys(previous.entries, next.entries);
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.configurationChanged(changedKeys, next.snapshot);
+            } catch (RuntimeException e) {
+                LOGGER.error("Configuration listener failed for " + resource.getLocation(), e);
+            }
+        }
+    }
+
+    /**
+     * Stops watching the file.  The last loaded snapshot stays readable.
+     */
+    @Override
+    public void close() {
+        closeWatchService();
+        watcher.interrupt();
+    }
+
+    private void closeWatchService() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.warn("Error closing watch service for " + resource.getLocation(), e);
+        }
+    }
+
+    private State load() {
+        ConfigurationStore store = new ConfigurationStore(ResourceUtils.loadProperties(resource));
+        return new State(store.entries(), new ConfigurationSnapshot(store));
+    }
+
+    private static WatchService watch(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            // editors that save by renaming a temporary file produce a create rather than a modify
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            return watchService;
+        } catch (IOException e) {
+            throw ResourceAccessException.build("Unable to watch configuration file")
+                    .withParam("path", path.toString())
+                    .withCause(e)
+                    .build();
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                if (isFileEvent(watchService.take())) {
+                    awaitQuietPeriod();
+                    reloadQuietly();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOGGER.debug("Stopped watching " + resource.getLocation());
+        }
+    }
+
+    /**
+     * Waits until there have been no events for the file and its size and modification time have not changed for
+     * a whole quiet period, so a file that is still being written is not read.  Events for other files in the
+     * directory are drained but do not restart the wait.
+     */
+    private void awaitQuietPeriod() throws InterruptedException {
+        FileStamp stamp = FileStamp.of(path);
+        long quietUntil = System.nanoTime() + quietPeriod.toNanos();
+        while (true) {
+            long remaining = quietUntil - System.nanoTime();
+            if (remaining > 0) {
+                WatchKey key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                if (key != null && isFileEvent(key)) {
+                    quietUntil = System.nanoTime() + quietPeriod.toNanos();
+                }
+            } else {
+                FileStamp settled = FileStamp.of(path);
+                if (settled.equals(stamp)) {
+                    return;
+                }
+                stamp = settled;
+                quietUntil = System.nanoTime() + quietPeriod.toNanos();
+            }
+        }
+    }
+
+    private boolean isFileEvent(WatchKey key) {
+        Path fileName = path.getFileName();
+        boolean fileEvent = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            fileEvent |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+        }
+        key.reset();
+        return fileEvent;
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to reload configuration " + resource.getLocation() + ", keeping previous values", e);
+        }
+    }
+
+    private static Set<String> changedKeys(Map<String, String> previous, Map<String, String> next) {
+        Set<String> changed = new HashSet<>();
+        previous.forEach((key, value) -> {
+            if (!value.equals(next.get(key))) {
+                changed.add(key);
+            }
+        });
+        next.keySet().forEach(key -> {
+            if (!previous.containsKey(key)) {
+                changed.add(key);
+            }
+        });
+        return Collections.unmodifiableSet(changed);
+    }
+
+    @Override
+    public Optional<String> getString(String key) {
+        return current.get().snapshot.getString(key);
+    }
+
+    @Override
+    public String getString(String key, String defaultValue) {
+        return current.get().snapshot.getString(key, defaultValue);
+    }
+
+    @Override
+    public String getRequiredString(String key) {
+        return current.get().snapshot.getRequiredString(key);
+    }
+
+    @Override
+    public List<String> getStringList(String key) {
+        return current.get().snapshot.getStringList(key);
+    }
+
+    @Override
+    public Optional<Integer> getInteger(String key) {
+        return current.get().snapshot.getInteger(key);
+    }
+
+    @Override
+    public Integer getInteger(String key, int defaultValue) {
+        return current.get().snapshot.getInteger(key, defaultValue);
+    }
+
+    @Override
+    public Integer getRequiredInteger(String key) {
+        return current.get().snapshot.getRequiredInteger(key);
+    }
+
+    @Override
+    public List<Integer> getIntegerList(String key) {
+        return current.get().snapshot.getIntegerList(key);
+    }
+
+    @Override
+    public Optional<Float> getFloat(String key) {
+        return current.get().snapshot.getFloat(key);
+    }
+
+    @Override
+    public Float getFloat(String key, float defaultValue) {
+        return current.get().snapshot.getFloat(key, defaultValue);
+    }
+
+    @Override
+    public Float getRequiredFloat(String key) {
+        return current.get().snapshot.getRequiredFloat(key);
+    }
+
+    @Override
+    public List<Float> getFloatList(String key) {
+        return current.get().snapshot.getFloatList(key);
+    }
+
+    @Override
+    public Optional<Long> getLong(String key) {
+        return current.get().snapshot.getLong(key);
+    }
+
+    @Override
+    public long getLong(String key, long defaultValue) {
+        return current.get().snapshot.getLong(key, defaultValue);
+    }
+
+    @Override
+    public long getRequiredLong(String key) {
+        return current.get().snapshot.getRequiredLong(key);
+    }
+
+    @Override
+    public Optional<Double> getDouble(String key) {
+        return current.get().snapshot.getDouble(key);
+    }
+
+    @Override
+    public double getDouble(String key, double defaultValue) {
+        return current.get().snapshot.getDouble(key, defaultValue);
+    }
+
+    @Override
+    public double getRequiredDouble(String key) {
+        return current.get().snapshot.getRequiredDouble(key);
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(String key) {
+        return current.get().snapshot.getBoolean(key);
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return current.get().snapshot.getBoolean(key, defaultValue);
+    }
+
+    @Override
+    public boolean getRequiredBoolean(String key) {
+        return current.get().snapshot.getRequiredBoolean(key);
+    }
+
+    @Override
+    public Optional<Duration> getDuration(String key) {
+        return current.get().snapshot.getDuration(key);
+    }
+
+    @Override
+    public Duration getDuration(String key, Duration defaultValue) {
+        return current.get().snapshot.getDuration(key, defaultValue);
+    }
+
+    @Override
+    public Duration getRequiredDuration(String key) {
+        return current.get().snapshot.getRequiredDuration(key);
+    }
+
+    @Override
+    public Optional<Long> getByteSize(String key) {
+        return current.get().snapshot.getByteSize(key);
+    }
+
+    @Override
+    public long getByteSize(String key, long defaultValue) {
+        return current.get().snapshot.getByteSize(key, defaultValue);
+    }
+
+    @Override
+    public long getRequiredByteSize(String key) {
+        return current.get().snapshot.getRequiredByteSize(key);
+    }
+
+    @Override
+    public Optional<Configuration> getSubConfiguration(String prefix) {
+        return current.get().snapshot.getSubConfiguration(prefix);
+    }
+
+    @Override
+    public Set<String> keys() {
+        return current.get().snapshot.keys();
+    }
+
+    @Override
+    public Set<String> keys(String prefix) {
+        return current.get().snapshot.keys(prefix);
+    }
+
+    @Override
+    public Map<String, String> asMap() {
+        return current.get().snapshot.asMap();
+    }
+
+    /**
+     * The size and modification time of the file, both {@code -1} while it does not exist.
+     */
+    private static final class FileStamp {
+
+        private final long size;
+        private final long lastModified;
+
+        private FileStamp(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        static FileStamp of(Path path) {
+            try {
+                return new FileStamp(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+            } catch (IOException e) {
+                return new FileStamp(-1, -1);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp other = (FileStamp) o;
+            return size == other.size && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(size) + Long.hashCode(lastModified);
+        }
+    }
+
+    private static final class State {
+
+        private final Map<String, String> entries;
+        private final ConfigurationSnapshot snapshot;
+
+        private State(Map<String, String> entries, ConfigurationSnapshot snapshot) {
+            this.entries = entries;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 
 class FileSystemReadableResource extends AbstractReadableResource {
 
@@ -17,6 +18,11 @@ class FileSystemReadableResource extends AbstractReadableResource {
         this.path = path;
     }
 
+    @Override
+    public Optional<Path> getPath() {
+        return Optional.of(path);
+    }
+
     @Override
     public InputStream open() {
         try {
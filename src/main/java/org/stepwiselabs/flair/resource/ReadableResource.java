@@ -5,11 +5,19 @@ import org.stepwiselabs.flair.functions.FunctionWithIOException;
 
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Optional;
 
 public interface ReadableResource {
 
     String getLocation();
 
+    /**
+     * @return the file system path of the resource, or empty if it is not backed by a file
+     */
+    default Optional<Path> getPath() {
+        return Optional.empty();
+    }
+
     InputStream open();
 
     <T> T withResource(FunctionWithIOException<InputStream, T> callback);
@@ -0,0 +1,102 @@
+package org.stepwiselabs.flair;
+
+import org.junit.Test;
+import org.stepwiselabs.flair.exceptions.AppConfigurationException;
+import org.stepwiselabs.flair.impl.LayeredConfiguration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConfigurationBinderTest {
+
+    private static final String CONFIGURATION_RESOURCE = "classpath:configurationTest/sample-configuration.properties";
+
+    public static final class Sub {
+        private final int intValue;
+        private final String stringValue;
+
+        public Sub(int intValue, String stringValue) {
+            this.intValue = intValue;
+            this.stringValue = stringValue;
+        }
+    }
+
+    public static final class Params {
+        private final String greeting;
+        private final Integer intValue;
+        private final float floatValue;
+        private final List<String> stringList;
+        private final List<Integer> intList;
+        private final Optional<String> missing;
+        private final Sub sub;
+
+        public Params(@ConfigurationKey("stringValue") String greeting, Integer intValue, float floatValue,
+                      List<String> stringList, List<Integer> intList, Optional<String> missing, Sub sub) {
+            this.greeting = greeting;
+            this.intValue = intValue;
+            this.floatValue = floatValue;
+            this.stringList = stringList;
+            this.intList = intList;
+            this.missing = missing;
+            this.sub = sub;
+        }
+    }
+
+    @Test
+    public void bindsSubConfiguration() {
+
+        Configuration config = ResourceUtils.loadConfiguration(CONFIGURATION_RESOURCE);
+
+        Params params = ConfigurationBinder.bind(config, "param", Params.class);
+
+        assertThat(params.greeting).isEqualTo("hello");
+        assertThat(params.intValue).isEqualTo(11);
+        assertThat(params.floatValue).isEqualTo(1.1f);
+        assertThat(params.stringList).containsExactly("first", "second", "third");
+        assertThat(params.intList).containsExactly(1, 2, 3);
+        assertThat(params.missing.isPresent()).isFalse();
+        assertThat(params.sub.intValue).isEqualTo(22);
+        assertThat(params.sub.stringValue).isEqualTo("sub.string");
+    }
+
+    @Test
+    public void reportsEveryInvalidValue() {
+
+        Map<String, String> entries = new HashMap<>();
+        entries.put("param.intValue", "eleven");
+        entries.put("param.floatValue", "1.1");
+        entries.put("param.sub.intValue", "x");
+        Configuration config = LayeredConfiguration.builder().withMap("invalid", entries).build();
+
+        try {
+            ConfigurationBinder.bind(config, "param", Params.class);
+            fail("expected an AppConfigurationException");
+        } catch (AppConfigurationException e) {
+            assertThat(e.getParams().keySet()).containsExactly(
+                    "param.stringValue", "param.intValue", "param.stringList", "param.intList",
+                    "param.sub.intValue", "param.sub.stringValue");
+        }
+    }
+
+    @Test
+    public void reportsMissingRequiredList() {
+
+        // given every value but the string list
+        Configuration config = ResourceUtils.loadConfiguration(CONFIGURATION_RESOURCE);
+        Map<String, String> entries = new HashMap<>(config.asMap());
+        entries.remove("param.stringList");
+        Configuration withoutList = LayeredConfiguration.builder().withMap("partial", entries).build();
+
+        try {
+            ConfigurationBinder.bind(withoutList, "param", Params.class);
+            fail("expected an AppConfigurationException");
+        } catch (AppConfigurationException e) {
+            assertThat(e.getParams()).containsExactly("param.stringList", "Missing required parameter");
+        }
+    }
+}
@@ -2,15 +2,26 @@ package org.stepwiselabs.flair;
 
 import org.junit.Before;
 import org.junit.Test;
-
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.stepwiselabs.flair.exceptions.AppConfigurationException;
+import org.stepwiselabs.flair.impl.LayeredConfiguration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static com.google.common.truth.Truth.assertThat;
 
 /**
- * Tests the {@link Configuration} access interface
+ * Tests the {@link Configuration} access interface against each of its implementations
  */
+@RunWith(Parameterized.class)
 public class ConfigurationTest {
 
     private static final String CONFIGURATION_RESOURCE = "classpath:configurationTest/sample-configuration.properties";
@@ -19,9 +30,25 @@ public class ConfigurationTest {
     private static final Float FLOAR_VALUE = 1.1f;
     private Configuration config;
 
+    @Parameterized.Parameter(0)
+    public String implementation;
+
+    @Parameterized.Parameter(1)
+    public Function<String, Configuration> loader;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> implementations() {
+        return Arrays.asList(new Object[][]{
+                {"properties", (Function<String, Configuration>) ResourceUtils::loadConfiguration},
+                {"snapshot", (Function<String, Configuration>) ResourceUtils::loadConfigurationSnapshot},
+                {"layered", (Function<String, Configuration>) location ->
+                        LayeredConfiguration.builder().withResource(location).build()}
+        });
+    }
+
     @Before
     public void before() {
-        config = ResourceUtils.loadConfiguration(CONFIGURATION_RESOURCE);
+        config = loader.apply(CONFIGURATION_RESOURCE);
     }
 
     @Test
@@ -152,4 +179,181 @@ public class ConfigurationTest {
         assertThat(subConfig.getRequiredString("stringValue")).isEqualTo("sub.string");
     }
 
+    @Test
+    public void testInterpolatedValue(){
+        assertThat(config.getRequiredString("param.interpolated")).isEqualTo("hello/sub.string");
+    }
+
+    @Test
+    public void testGetLong(){
+        assertThat(config.getRequiredLong("param.longValue")).isEqualTo(5_000_000_000L);
+        assertThat(config.getLong("param.missing", 7L)).isEqualTo(7L);
+    }
+
+    @Test
+    public void testGetDouble(){
+        assertThat(config.getRequiredDouble("param.doubleValue")).isEqualTo(2.5d);
+        assertThat(config.getDouble("param.missing", 0.5d)).isEqualTo(0.5d);
+    }
+
+    @Test
+    public void testGetBoolean(){
+        assertThat(config.getRequiredBoolean("param.booleanValue")).isTrue();
+        assertThat(config.getBoolean("param.missing", false)).isFalse();
+    }
+
+    @Test
+    public void testGetDuration(){
+        assertThat(config.getRequiredDuration("param.durationValue")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(config.getRequiredDuration("param.isoDurationValue")).isEqualTo(Duration.ofMinutes(1));
+        assertThat(config.getDuration("param.missing", Duration.ZERO)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void testGetByteSize(){
+        assertThat(config.getRequiredByteSize("param.byteSizeValue")).isEqualTo(512L * 1024 * 1024);
+        assertThat(config.getByteSize("param.missing", 1024L)).isEqualTo(1024L);
+    }
+
+    @Test
+    public void testNumbersIgnoreSurroundingWhitespace(){
+        assertThat(config.getRequiredInteger("param.paddedValue")).isEqualTo(5);
+        assertThat(config.getRequiredLong("param.paddedValue")).isEqualTo(5L);
+        assertThat(config.getRequiredFloat("param.paddedValue")).isEqualTo(5f);
+        assertThat(config.getRequiredDouble("param.paddedValue")).isEqualTo(5d);
+    }
+
+    @Test
+    public void testDefaultGetters(){
+        Configuration forwarding = new ForwardingConfiguration(config);
+        assertThat(forwarding.getRequiredLong("param.longValue")).isEqualTo(5_000_000_000L);
+        assertThat(forwarding.getLong("param.missing", 7L)).isEqualTo(7L);
+        assertThat(forwarding.getRequiredDouble("param.doubleValue")).isEqualTo(2.5d);
+        assertThat(forwarding.getRequiredBoolean("param.booleanValue")).isTrue();
+        assertThat(forwarding.getRequiredDuration("param.durationValue")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(forwarding.getRequiredByteSize("param.byteSizeValue")).isEqualTo(512L * 1024 * 1024);
+        assertThat(forwarding.getByteSize("param.missing")).isEmpty();
+    }
+
+    @Test(expected = AppConfigurationException.class)
+    public void testDefaultRequiredGetterRejectsMissingKey(){
+        new ForwardingConfiguration(config).getRequiredDuration("param.missing");
+    }
+
+    @Test(expected = AppConfigurationException.class)
+    public void testInvalidBoolean(){
+        config.getRequiredBoolean("param.stringValue");
+    }
+
+    @Test
+    public void testKeys(){
+        assertThat(config.keys()).contains("param.stringValue");
+        assertThat(config.keys("param.sub")).containsExactly("param.sub.intValue", "param.sub.stringValue").inOrder();
+        assertThat(config.keys("param.missing")).isEmpty();
+        assertThat(config.getSubConfiguration("param.sub").get().keys())
+                .containsExactly("intValue", "stringValue").inOrder();
+    }
+
+    @Test
+    public void testAsMap(){
+        Map<String, String> values = config.getSubConfiguration("param.sub").get().asMap();
+        assertThat(values).containsExactly("intValue", "22", "stringValue", "sub.string").inOrder();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAsMapIsImmutable(){
+        config.asMap().put("param.stringValue", "changed");
+    }
+
+    /**
+     * Implements only the abstract methods of {@link Configuration}, so the typed getters fall back to its defaults
+     */
+    private static class ForwardingConfiguration implements Configuration {
+
+        private final Configuration delegate;
+
+        ForwardingConfiguration(Configuration delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Optional<String> getString(String key) {
+            return delegate.getString(key);
+        }
+
+        @Override
+        public String getString(String key, String defaultValue) {
+            return delegate.getString(key, defaultValue);
+        }
+
+        @Override
+        public String getRequiredString(String key) {
+            return delegate.getRequiredString(key);
+        }
+
+        @Override
+        public List<String> getStringList(String key) {
+            return delegate.getStringList(key);
+        }
+
+        @Override
+        public Optional<Integer> getInteger(String key) {
+            return delegate.getInteger(key);
+        }
+
+        @Override
+        public Integer getInteger(String key, int defaultValue) {
+            return delegate.getInteger(key, defaultValue);
+        }
+
+        @Override
+        public Integer getRequiredInteger(String key) {
+            return delegate.getRequiredInteger(key);
+        }
+
+        @Override
+        public List<Integer> getIntegerList(String key) {
+            return delegate.getIntegerList(key);
+        }
+
+        @Override
+        public Optional<Float> getFloat(String key) {
+            return delegate.getFloat(key);
+        }
+
+        @Override
+        public Float getFloat(String key, float defaultValue) {
+            return delegate.getFloat(key, defaultValue);
+        }
+
+        @Override
+        public Float getRequiredFloat(String key) {
+            return delegate.getRequiredFloat(key);
+        }
+
+        @Override
+        public List<Float> getFloatList(String key) {
+            return delegate.getFloatList(key);
+        }
+
+        @Override
+        public Optional<Configuration> getSubConfiguration(String prefix) {
+            return delegate.getSubConfiguration(prefix);
+        }
+
+        @Override
+        public Set<String> keys() {
+            return delegate.keys();
+        }
+
+        @Override
+        public Set<String> keys(String prefix) {
+            return delegate.keys(prefix);
+        }
+
+        @Override
+        public Map<String, String> asMap() {
+            return delegate.asMap();
+        }
+    }
 }
@@ -0,0 +1,325 @@
+package org.stepwiselabs.flair;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.stepwiselabs.flair.exceptions.BadDataException;
+import org.stepwiselabs.flair.exceptions.ResourceAccessException;
+import org.stepwiselabs.flair.exceptions.ValidationException;
+import org.stepwiselabs.flair.functions.ConsumerWithIOException;
+import org.stepwiselabs.flair.functions.FunctionWithIOException;
+import org.stepwiselabs.flair.resource.ReadableResource;
+import org.stepwiselabs.flair.resource.ReadableResourceLoader;
+import org.stepwiselabs.flair.xml.Catalog;
+import org.stepwiselabs.flair.xml.Item;
+import org.stepwiselabs.flair.xml.ObjectFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class JAXBUtilTest {
+
+    private static final String CATALOG = "classpath:jaxbTest/catalog.xml";
+    private static final String CATALOG_WITHOUT_NAMESPACE = "classpath:jaxbTest/catalog-no-namespace.xml";
+    private static final String VALID_CATALOG = "classpath:jaxbTest/valid-catalog.xml";
+    private static final String VALID_CATALOG_WITHOUT_NAMESPACE = "classpath:jaxbTest/valid-catalog-no-namespace.xml";
+    private static final String INCOMPLETE_CATALOG = "classpath:jaxbTest/incomplete-catalog.xml";
+    private static final String INVALID_CATALOG = "classpath:jaxbTest/invalid-catalog.xml";
+    private static final String STRAY_ELEMENT_CATALOG = "classpath:jaxbTest/stray-element-catalog.xml";
+    private static final String MALFORMED_CATALOG = "classpath:jaxbTest/malformed.xml";
+    private static final String CATALOG_SCHEMA = "classpath:jaxbTest/catalog.xsd";
+
+    private static final Pattern VIOLATION_CODE = Pattern.compile("message=([\\w.-]+):");
+
+    // parse is parameterized on the object factory, but yields the unmarshalled root element
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Class<Object> OBJECT_FACTORY = (Class) ObjectFactory.class;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void streamsMatchingElementsInOrder() {
+
+        // the catalog's notes hold items of their own, nested at different depths, which are skipped
+        assertThat(streamIds(ReadableResourceLoader.load(CATALOG))).containsExactly(1, 2, 3).inOrder();
+    }
+
+    @Test
+    public void streamAppliesDefaultNamespace() {
+
+        assertThat(streamIds(ReadableResourceLoader.load(CATALOG_WITHOUT_NAMESPACE))).containsExactly(1, 2, 3)
+                .inOrder();
+    }
+
+    @Test
+    public void forEachVisitsMatchingElements() {
+
+        List<String> names = new ArrayList<>();
+        JAXBUtil.forEach(ReadableResourceLoader.load(CATALOG), Catalog.NAMESPACE, ObjectFactory.class, "item",
+                Item.class, item -> names.add(item.getName()));
+
+        assertThat(names).containsExactly("item-1", "item-2", "item-3").inOrder();
+    }
+
+    @Test
+    public void closingTheStreamClosesTheResource() {
+
+        TrackingResource resource = new TrackingResource(ReadableResourceLoader.load(CATALOG));
+        try (Stream<Item> items = JAXBUtil.stream(resource, Catalog.NAMESPACE, ObjectFactory.class, "item",
+                Item.class)) {
+            Iterator<Item> iterator = items.iterator();
+            assertThat(iterator.next().getId()).isEqualTo(1);
+            assertThat(resource.closed).isFalse();
+        }
+        assertThat(resource.closed).isTrue();
+    }
+
+    @Test(expected = BadDataException.class)
+    public void malformedDocumentFailsStreamAsBadData() {
+
+        streamIds(ReadableResourceLoader.load(MALFORMED_CATALOG));
+    }
+
+    @Test
+    public void parseAllIsolatesAndClassifiesFailures() throws IOException {
+
+        ReadableResource good = ReadableResourceLoader.load(VALID_CATALOG);
+        ReadableResource malformed = ReadableResourceLoader.load(MALFORMED_CATALOG);
+        ReadableResource missing = missingFile();
+
+        JAXBUtil.BatchResult<Object> result = JAXBUtil.parseAll(Arrays.asList(good, malformed, missing),
+                Catalog.NAMESPACE, OBJECT_FACTORY);
+
+        assertThat(result.getValues().keySet()).containsExactly(good);
+        assertThat(((Catalog) result.getValues().get(good)).getItems()).hasSize(2);
+        assertThat(result.getFailures().keySet()).containsExactly(malformed, missing).inOrder();
+        assertThat(result.getFailures().get(malformed)).isInstanceOf(BadDataException.class);
+        assertThat(result.getFailures().get(missing)).isInstanceOf(ResourceAccessException.class);
+        assertThat(result.getRetryable()).containsExactly(missing);
+        assertThat(result.hasFailures()).isTrue();
+    }
+
+    @Test
+    public void parseAllRecordsRejectedParses() {
+
+        ReadableResource good = ReadableResourceLoader.load(VALID_CATALOG);
+
+        JAXBUtil.BatchResult<Object> result = JAXBUtil.parseAll(Arrays.asList(good), Catalog.NAMESPACE,
+                OBJECT_FACTORY, task -> {
+                    throw new RejectedExecutionException("saturated");
+                });
+
+        assertThat(result.getValues()).isEmpty();
+        assertThat(result.getFailures().get(good)).isInstanceOf(ResourceAccessException.class);
+        assertThat(result.getRetryable()).containsExactly(good);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseAllRejectsDuplicateResources() {
+
+        ReadableResource good = ReadableResourceLoader.load(VALID_CATALOG);
+        JAXBUtil.parseAll(Arrays.asList(good, good), Catalog.NAMESPACE, OBJECT_FACTORY);
+    }
+
+    @Test
+    public void parseReportsEveryViolation() {
+
+        // the bad id of the first item, reported twice by the validator, and the missing name of the second
+        assertThat(violationCodes(INVALID_CATALOG)).containsExactly(
+                "cvc-datatype-valid.1.2.1", "cvc-type.3.1.3", "cvc-complex-type.2.4.b").inOrder();
+    }
+
+    @Test
+    public void parseReportsViolationsInSeparateElements() {
+
+        // the missing name of the first item and the unexpected element in the second
+        assertThat(violationCodes(STRAY_ELEMENT_CATALOG)).containsExactly(
+                "cvc-complex-type.2.4.b", "cvc-complex-type.2.4.d").inOrder();
+    }
+
+    @Test
+    public void parseWithSchemaReusesCompiledSchema() {
+
+        ReadableResource xsd = ReadableResourceLoader.load(CATALOG_SCHEMA);
+        Catalog catalog = (Catalog) JAXBUtil.parse(ReadableResourceLoader.load(VALID_CATALOG), Catalog.NAMESPACE,
+                OBJECT_FACTORY, xsd);
+        assertThat(catalog.getItems()).hasSize(2);
+
+        assertSame(JAXBUtil.getSchema(xsd), JAXBUtil.getSchema(ReadableResourceLoader.load(CATALOG_SCHEMA)));
+    }
+
+    /*
+     * The parses below run one after another on the test thread, so they share its ReusableParser and Unmarshaller
+     */
+
+    @Test
+    public void parsesAfterMalformedDocumentOnSameThread() {
+
+        try {
+            JAXBUtil.parse(ReadableResourceLoader.load(MALFORMED_CATALOG), Catalog.NAMESPACE, OBJECT_FACTORY);
+            fail("expected a BadDataException");
+        } catch (BadDataException e) {
+            // expected
+        }
+
+        assertThat(parseIds(VALID_CATALOG, Catalog.NAMESPACE)).containsExactly(1, 2).inOrder();
+    }
+
+    @Test
+    public void unvalidatedParseAfterValidatedParseOnSameThread() {
+
+        ReadableResource xsd = ReadableResourceLoader.load(CATALOG_SCHEMA);
+        try {
+            JAXBUtil.parse(ReadableResourceLoader.load(INVALID_CATALOG), Catalog.NAMESPACE, OBJECT_FACTORY, xsd);
+            fail("expected a ValidationException");
+        } catch (ValidationException e) {
+            // expected
+        }
+
+        // the schema does not carry over, so the item without a name is accepted
+        assertThat(parseIds(INCOMPLETE_CATALOG, Catalog.NAMESPACE)).containsExactly(1, 2).inOrder();
+
+        // nor does the collecting event handler, so the unconvertible id stops the parse again
+        try {
+            JAXBUtil.parse(ReadableResourceLoader.load(INVALID_CATALOG), Catalog.NAMESPACE, OBJECT_FACTORY);
+            fail("expected a BadDataException");
+        } catch (BadDataException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void defaultNamespaceParseAfterNamespacedParseOnSameThread() {
+
+        assertThat(parseIds(VALID_CATALOG, Catalog.NAMESPACE)).containsExactly(1, 2).inOrder();
+        assertThat(parseIds(VALID_CATALOG_WITHOUT_NAMESPACE, Catalog.NAMESPACE)).containsExactly(1, 2).inOrder();
+        assertThat(parseIds(VALID_CATALOG, Catalog.NAMESPACE)).containsExactly(1, 2).inOrder();
+    }
+
+    /**
+     * Parses the document against the catalog schema, expecting it to fail
+     *
+     * @return the error code that starts each reported violation's message, in order
+     */
+    private static List<String> violationCodes(String location) {
+        ReadableResource xsd = ReadableResourceLoader.load(CATALOG_SCHEMA);
+        try {
+            JAXBUtil.parse(ReadableResourceLoader.load(location), Catalog.NAMESPACE, OBJECT_FACTORY, xsd);
+            fail("expected a ValidationException");
+            return null;
+        } catch (ValidationException e) {
+            Map<String, String> params = e.getParams();
+            List<String> codes = new ArrayList<>();
+            for (int i = 1; i <= params.size(); i++) {
+                assertThat(params).containsKey("violation." + i);
+                Matcher matcher = VIOLATION_CODE.matcher(params.get("violation." + i));
+                assertThat(matcher.find()).isTrue();
+                codes.add(matcher.group(1));
+            }
+            return codes;
+        }
+    }
+
+    private static List<Integer> parseIds(String location, String defaultNamespace) {
+        Catalog catalog = (Catalog) JAXBUtil.parse(ReadableResourceLoader.load(location), defaultNamespace,
+                OBJECT_FACTORY);
+        return catalog.getItems().stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private static List<Integer> streamIds(ReadableResource resource) {
+        try (Stream<Item> items = JAXBUtil.stream(resource, Catalog.NAMESPACE, ObjectFactory.class, "item",
+                Item.class)) {
+            return items.map(Item::getId).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * A file resource whose file has been deleted since it was loaded
+     */
+    private ReadableResource missingFile() throws IOException {
+        Path path = tempFolder.newFile("missing.xml").toPath();
+        ReadableResource resource = ReadableResourceLoader.load(path.toString());
+        Files.delete(path);
+        return resource;
+    }
+
+    /**
+     * Records whether the stream it opens has been closed
+     */
+    private static class TrackingResource implements ReadableResource {
+
+        private final ReadableResource delegate;
+        private boolean closed;
+
+        TrackingResource(ReadableResource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getLocation() {
+            return delegate.getLocation();
+        }
+
+        @Override
+        public InputStream open() {
+            return new FilterInputStream(delegate.open()) {
+                @Override
+                public void close() throws IOException {
+                    closed = true;
+                    super.close();
+                }
+            };
+        }
+
+        @Override
+        public <T> T withResource(FunctionWithIOException<InputStream, T> callback) {
+            try (InputStream in = open()) {
+                return callback.apply(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void useResource(ConsumerWithIOException<InputStream> consumer) {
+            withResource(in -> {
+                consumer.accept(in);
+                return null;
+            });
+        }
+
+        @Override
+        public String readContents() {
+            return delegate.readContents();
+        }
+
+        @Override
+        public ReadableResource resolve(String path) {
+            return delegate.resolve(path);
+        }
+
+        @Override
+        public ReadableResource resolve(Path path) {
+            return delegate.resolve(path);
+        }
+    }
+}
@@ -1,12 +1,29 @@
 package org.stepwiselabs.flair;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.stepwiselabs.flair.exceptions.AppConfigurationException;
+import org.stepwiselabs.flair.impl.LayeredConfiguration;
+import org.stepwiselabs.flair.impl.ReloadingConfiguration;
+import org.stepwiselabs.flair.resource.ReadableResourceLoader;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -15,6 +32,9 @@ public class ResourceUtilsTest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceUtilsTest.class);
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     /**
      * The resources root directory path is accessible from the ReadableResource Impl, and should resolve to a
      * readable filesystem resource
@@ -45,4 +65,179 @@ public class ResourceUtilsTest {
                 "classpath:configurationTest/sample-configuration.properties");
         assertThat(config.getRequiredString("param.stringValue")).isEqualTo("hello");
     }
+
+    @Test
+    public void reloadingConfigurationSwapsInChanges() throws Exception {
+
+        // given
+        Path file = folder.newFile("reloading.properties").toPath();
+        Files.write(file, "a=1\nb=2\n".getBytes(StandardCharsets.ISO_8859_1));
+        Set<String> changes = ConcurrentHashMap.newKeySet();
+
+        try (ReloadingConfiguration config = ResourceUtils.loadReloadingConfiguration(file.toString())) {
+            config.addListener((changedKeys, current) -> changes.addAll(changedKeys));
+            assertThat(config.getRequiredInteger("a")).isEqualTo(1);
+
+            // when
+            Files.write(file, "a=1\nb=3\nc=4\n".getBytes(StandardCharsets.ISO_8859_1));
+            config.reload();
+
+            // then
+            assertThat(config.getRequiredInteger("b")).isEqualTo(3);
+            assertThat(config.getRequiredInteger("c")).isEqualTo(4);
+            assertThat(changes).contains("b");
+            assertThat(changes).contains("c");
+        }
+    }
+
+    @Test
+    public void reloadingConfigurationReloadsOnFileChange() throws Exception {
+
+        // given
+        Path file = folder.newFile("watched.properties").toPath();
+        Files.write(file, "a=1\n".getBytes(StandardCharsets.ISO_8859_1));
+        CountDownLatch reloaded = new CountDownLatch(1);
+
+        try (ReloadingConfiguration config = new ReloadingConfiguration(
+                ReadableResourceLoader.load(file.toString()), Duration.ofMillis(100))) {
+            config.addListener((changedKeys, current) -> {
+                if (current.getInteger("a", 0) == 2) {
+                    reloaded.countDown();
+                }
+            });
+
+            // when
+            Files.write(file, "a=2\nb=3\n".getBytes(StandardCharsets.ISO_8859_1));
+
+            // then, bounded generously as some platforms poll for file changes
+            assertTrue(reloaded.await(30, TimeUnit.SECONDS));
+            assertThat(config.getRequiredInteger("a")).isEqualTo(2);
+            assertThat(config.getRequiredInteger("b")).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void reloadingConfigurationIgnoresBusySiblingFiles() throws Exception {
+
+        // given
+        Path file = folder.newFile("busy.properties").toPath();
+        Path sibling = folder.newFile("busy.log").toPath();
+        Files.write(file, "a=1\n".getBytes(StandardCharsets.ISO_8859_1));
+        CountDownLatch reloaded = new CountDownLatch(1);
+
+        // a sibling written more often than the quiet period must not hold the reload back
+        Thread noise = new Thread(() -> {
+            try {
+                while (reloaded.getCount() > 0) {
+                    Files.write(sibling, "line\n".getBytes(StandardCharsets.ISO_8859_1), StandardOpenOption.APPEND);
+                    Thread.sleep(50);
+                }
+            } catch (IOException | InterruptedException e) {
+                // stop writing
+            }
+        });
+        noise.setDaemon(true);
+
+        try (ReloadingConfiguration config = new ReloadingConfiguration(
+                ReadableResourceLoader.load(file.toString()), Duration.ofMillis(500))) {
+            config.addListener((changedKeys, current) -> {
+                if (current.getInteger("a", 0) == 2) {
+                    reloaded.countDown();
+                }
+            });
+            noise.start();
+
+            // when
+            Files.write(file, "a=2\n".getBytes(StandardCharsets.ISO_8859_1));
+
+            // then
+            assertTrue(reloaded.await(30, TimeUnit.SECONDS));
+            assertThat(config.getRequiredInteger("a")).isEqualTo(2);
+        } finally {
+            noise.interrupt();
+        }
+    }
+
+    @Test
+    public void laterLayersOverrideEarlierOnes() {
+
+        // given
+        Properties overrides = new Properties();
+        overrides.setProperty("param.stringValue", "overridden");
+
+        // when
+        LayeredConfiguration config = LayeredConfiguration.builder()
+                .withResource("classpath:configurationTest/sample-configuration.properties")
+                .withOptionalResource("classpath:configurationTest/missing.properties")
+                .withProperties("overrides", overrides)
+                .withMap("extras", Collections.singletonMap("param.extra", "extra"))
+                .build();
+
+        // then
+        assertThat(config.getRequiredString("param.stringValue")).isEqualTo("overridden");
+        assertThat(config.getSource("param.stringValue")).hasValue("overrides");
+        assertThat(config.getRequiredInteger("param.intValue")).isEqualTo(11);
+        assertThat(config.getRequiredString("param.extra")).isEqualTo("extra");
+        assertThat(config.getSubConfiguration("param.sub").get().getRequiredInteger("intValue")).isEqualTo(22);
+    }
+
+    @Test
+    public void placeholdersResolveAcrossLayers() {
+
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("base.dir", "/var/app");
+        overrides.put("cache.dir", "${base.dir}/cache");
+
+        LayeredConfiguration config = LayeredConfiguration.builder()
+                .withMap("defaults", Collections.singletonMap("base.dir", "/tmp"))
+                .withMap("overrides", overrides)
+                .build();
+
+        assertThat(config.getRequiredString("cache.dir")).isEqualTo("/var/app/cache");
+    }
+
+    @Test(expected = AppConfigurationException.class)
+    public void circularPlaceholdersAreRejected() {
+
+        Map<String, String> entries = new HashMap<>();
+        entries.put("a", "${b}");
+        entries.put("b", "${a}");
+
+        LayeredConfiguration.builder().withMap("circular", entries).build();
+    }
+
+    @Test(expected = AppConfigurationException.class)
+    public void unresolvedPlaceholdersAreRejected() {
+
+        LayeredConfiguration.builder()
+                .withMap("unresolved", Collections.singletonMap("a", "${missing}"))
+                .build();
+    }
+
+    @Test
+    public void escapedPlaceholdersAreLeftAsIs() {
+
+        LayeredConfiguration config = LayeredConfiguration.builder()
+                .withMap("patterns", Collections.singletonMap("log.pattern", "%d $${level} %m"))
+                .build();
+
+        assertThat(config.getRequiredString("log.pattern")).isEqualTo("%d ${level} %m");
+    }
+
+    @Test
+    public void systemPropertiesAreNotInterpolated() {
+
+        System.setProperty("flair.test.literal", "${unresolved}");
+        try {
+            LayeredConfiguration config = LayeredConfiguration.builder()
+                    .withMap("defaults", Collections.singletonMap("copy", "${flair.test.literal}"))
+                    .withSystemProperties()
+                    .build();
+
+            assertThat(config.getRequiredString("flair.test.literal")).isEqualTo("${unresolved}");
+            assertThat(config.getRequiredString("copy")).isEqualTo("${unresolved}");
+        } finally {
+            System.clearProperty("flair.test.literal");
+        }
+    }
 }
@@ -4,16 +4,33 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.stepwiselabs.flair.exceptions.SerializationDiagnostic;
+import org.stepwiselabs.flair.exceptions.SerializationException;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SuppressWarnings("javadoc")
 public class SerializerTest {
@@ -101,6 +118,61 @@ public class SerializerTest {
         assertPeople(deserialized);
     }
 
+    /**
+     * Test lazily deserializing a <tt>List</tt> of simple beans from an <tt>InputStream</tt>.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void streamOfSimpleBeans() throws Exception {
+        // given
+        List<Person> deserialized;
+        try (Stream<Person> people = PERSON_SERIALIZER.deserializeStream(
+                Strings.toInputStream(PERSON_SERIALIZER.serializeList(PEOPLE)))) {
+            deserialized = people.collect(Collectors.toList());
+        }
+
+        // then
+        assertPeople(deserialized);
+    }
+
+    /**
+     * Test streaming serialization of a <tt>List</tt> of simple beans to an <tt>OutputStream</tt>.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void listOfSimpleBeansToStream() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PERSON_SERIALIZER.serializeList(PEOPLE.stream(), out);
+
+        // then
+        assertPeople(PERSON_SERIALIZER.deserializeList(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    /**
+     * Test serialization/deserialization of simple beans as newline-delimited JSON.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void linesOfSimpleBeans() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PERSON_SERIALIZER.serializeLines(PEOPLE, out, 1);
+
+        List<Person> deserialized;
+        try (Stream<Person> people = PERSON_SERIALIZER.deserializeLines(
+                new ByteArrayInputStream(out.toByteArray()))) {
+            deserialized = people.collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(out.toString(Charset.defaultCharset().name()).split("\n")).hasLength(PEOPLE.size());
+        assertPeople(deserialized);
+    }
+
     /**
      * Test serialization/deserialization of an annotated enum.
      *
@@ -191,6 +263,145 @@ public class SerializerTest {
         assertThat(obj.getName()).isEqualTo("steve");
     }
 
+    @Test
+    public void deserializeFromBytesAndBuffers() throws Exception {
+
+        byte[] bytes = PERSON_SERIALIZER.serializeAsBytes(JOE);
+        byte[] padded = new byte[bytes.length + 2];
+        System.arraycopy(bytes, 0, padded, 1, bytes.length);
+
+        assertJoe(PERSON_SERIALIZER.deserialize(padded, 1, bytes.length));
+        assertJoe(PERSON_SERIALIZER.deserialize(ByteBuffer.wrap(bytes)));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertJoe(PERSON_SERIALIZER.deserialize(direct));
+        assertThat(direct.remaining()).isEqualTo(bytes.length);
+    }
+
+    @Test
+    public void deserializeFromMappedFile() throws Exception {
+
+        Path file = Files.createTempFile("serializer-test", ".json");
+        try {
+            Files.write(file, PERSON_SERIALIZER.serializeAsBytes(JOE));
+            assertJoe(PERSON_SERIALIZER.deserialize(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void binaryFormats() throws Exception {
+
+        for (SerializerFactory factory : Arrays.asList(SerializerFactory.smile(), SerializerFactory.cbor())) {
+            Serializer<Person> serializer = factory.createForClass(Person.class);
+
+            // serialize and de-serialize
+            assertJoe(serializer.deserialize(new ByteArrayInputStream(serializer.serializeAsBytes(JOE))));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            serializer.serializeList(PEOPLE, out);
+            assertPeople(serializer.deserializeList(new ByteArrayInputStream(out.toByteArray())));
+        }
+    }
+
+    @Test
+    public void binaryFormatLines() throws Exception {
+
+        for (SerializerFactory factory : Arrays.asList(SerializerFactory.smile(), SerializerFactory.cbor())) {
+            Serializer<Person> serializer = factory.createForClass(Person.class);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            serializer.serializeLines(PEOPLE, out, 1);
+
+            try (Stream<Person> people = serializer.deserializeLines(new ByteArrayInputStream(out.toByteArray()))) {
+                assertPeople(people.collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test
+    public void genericContainer() throws Exception {
+
+        Serializer<Map<String, List<Person>>> serializer = Serializer
+                .create(OBJ_MAPPER, new TypeReference<Map<String, List<Person>>>() {});
+
+        Map<String, List<Person>> peopleByName = new HashMap<>();
+        peopleByName.put("people", PEOPLE);
+
+        // serialize and de-serialize
+        Map<String, List<Person>> deserialized = serializer.deserialize(serializer.serialize(peopleByName));
+        assertPeople(deserialized.get("people"));
+    }
+
+    @Test
+    public void failureCarriesBoundedDiagnostic() throws Exception {
+
+        StringBuilder data = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            data.append(PERSON_SERIALIZER.serialize(JOE)).append(',');
+        }
+        data.append("{\"firstName\":oops}]");
+
+        SerializationException exception = assertThrows(SerializationException.class,
+                () -> PERSON_SERIALIZER.deserializeList(data.toString()));
+
+        SerializationDiagnostic diagnostic = exception.getDiagnostic().get();
+        assertThat(diagnostic.getLine()).isEqualTo(1);
+        assertThat(diagnostic.getSnippet()).contains("oops");
+
+        assertThat(exception.getMessage().replace(diagnostic.getSnippet(), "")).doesNotContain("Shmoe");
+
+        // Jackson adds an excerpt of byte sources to its own messages, which must not leak into ours
+        byte[] bytes = data.toString().getBytes(StandardCharsets.UTF_8);
+        JavaType listType = OBJ_MAPPER.getTypeFactory().constructCollectionType(List.class, Person.class);
+        Serializer<List<Person>> listSerializer = Serializer.create(OBJ_MAPPER, listType);
+        SerializationException fromBytes = assertThrows(SerializationException.class,
+                () -> listSerializer.deserialize(bytes));
+        assertThat(fromBytes.getMessage().replace(fromBytes.getDiagnostic().get().getSnippet(), ""))
+                .doesNotContain("Shmoe");
+
+        Serializer<List<Person>> withoutSnippet = Serializer.create(OBJ_MAPPER, listType, false, 0);
+        SerializationException unsnipped = assertThrows(SerializationException.class,
+                () -> withoutSnippet.deserialize(bytes));
+        assertThat(unsnipped.getMessage()).doesNotContain("Shmoe");
+    }
+
+    @Test
+    public void factoryCachesSerializers() throws Exception {
+
+        SerializerFactory factory = new SerializerFactory(OBJ_MAPPER);
+        factory.warm(Person.class);
+
+        assertSame(factory.createForClass(Person.class), factory.createForClass(Person.class));
+        assertNotSame(factory.createForClass(Person.class, true), factory.createForClass(Person.class));
+
+        // a zero sized cache still creates serializers
+        SerializerFactory uncached = new SerializerFactory(OBJ_MAPPER, 0);
+        assertNotSame(uncached.createForClass(Person.class), uncached.createForClass(Person.class));
+    }
+
+    @Test
+    public void factoryEvictsOldestSerializerWhenFull() throws Exception {
+
+        SerializerFactory factory = new SerializerFactory(OBJ_MAPPER, 1);
+        Serializer<Person> first = factory.createForClass(Person.class);
+        Serializer<ObjectWithEnum> second = factory.createForClass(ObjectWithEnum.class);
+
+        assertSame(second, factory.createForClass(ObjectWithEnum.class));
+        assertNotSame(first, factory.createForClass(Person.class));
+    }
+
+    @Test
+    public void subclassesKeepTheirOwnProperties() throws Exception {
+
+        Serializer<Person> serializer = Serializer.create(OBJ_MAPPER, Person.class);
+
+        assertThat(serializer.serialize(new Employee("Joe", "Shmoe", "Acme"))).contains("\"employer\":\"Acme\"");
+        assertThat(serializer.serialize(JOE)).doesNotContain("employer");
+    }
+
     private static void assertPeople(List<Person> actual) {
         assertThat(actual).hasSize(PEOPLE.size());
         assertJoe(actual.get(0));
@@ -327,4 +538,18 @@ public class SerializerTest {
             return lastName;
         }
     }
+
+    public static class Employee extends Person {
+
+        private final String employer;
+
+        public Employee(String firstName, String lastName, String employer) {
+            super(firstName, lastName);
+            this.employer = employer;
+        }
+
+        public String getEmployer() {
+            return employer;
+        }
+    }
 }